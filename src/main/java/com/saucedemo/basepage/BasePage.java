@@ -2,9 +2,14 @@ package com.saucedemo.basepage;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -25,9 +30,22 @@ import com.saucedemo.pageobjects.CartPage;
 public class BasePage {
 
     protected WebDriver driver;
-    private Duration explicitWaitDuration = Duration.ofSeconds(ConfigReader.getExplicitWait());
+    private static final Duration explicitWaitDuration = Duration.ofSeconds(ConfigReader.getExplicitWait());
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
 
+    // Sets each input through the native value setter so React picks up the change from the 'input' event
+    private static final String FAST_FILL_SCRIPT =
+            "var setter = Object.getOwnPropertyDescriptor(window.HTMLInputElement.prototype, 'value').set;"
+            + "for (var i = 0; i < arguments.length; i += 2) {"
+            + "  var input = arguments[i];"
+            + "  setter.call(input, arguments[i + 1]);"
+            + "  input.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "}";
+
+    // Element errors that usually pass once the element is located again: a re-rendered element or a transient overlay
+    private static final List<Class<? extends RuntimeException>> TRANSIENT_ELEMENT_ERRORS =
+            List.of(StaleElementReferenceException.class, ElementClickInterceptedException.class);
+
     /**
 	 * Constructor for BasePage.
 	 *
@@ -64,38 +82,54 @@ public class BasePage {
      */
     public void clickHamburgerMenuItem(String itemName) {
         try {
-            if (burgerMenuItems.isEmpty() || !burgerMenuItems.get(0).isDisplayed()) {
-                logger.info("Burger menu is not open. Reopening it.");
-                waitForWebElementToAppear(burgerButton);
-                burgerButton.click();
-                waitForVisibilityOfAllElements(burgerMenuItems);
-            } else {
-                logger.info("Burger menu is already open.");
-            }
+            retryStep("click menu item '" + itemName + "'", () -> {
+                if (burgerMenuItems.isEmpty() || !burgerMenuItems.get(0).isDisplayed()) {
+                    logger.info("Burger menu is not open. Reopening it.");
+                    waitForWebElementToAppear(burgerButton);
+                    burgerButton.click();
+                    waitForVisibilityOfAllElements(burgerMenuItems);
+                } else {
+                    logger.info("Burger menu is already open.");
+                }
 
-            logger.info("Available menu items:");
-            for (WebElement menuItem : burgerMenuItems) {
-                logger.info("Menu item text: '{}'", menuItem.getText().trim());
-            }
+                logger.info("Available menu items:");
+                for (WebElement menuItem : burgerMenuItems) {
+                    logger.info("Menu item text: '{}'", menuItem.getText().trim());
+                }
 
-            for (WebElement menuItem : burgerMenuItems) {
-                if (menuItem.getText().trim().equalsIgnoreCase(itemName)) {
-                    if (itemName.equalsIgnoreCase("About")) {
-                        new Actions(driver).keyDown(Keys.CONTROL).click(menuItem).keyUp(Keys.CONTROL).perform();
-                    } else {
-                        menuItem.click();
+                for (WebElement menuItem : burgerMenuItems) {
+                    if (menuItem.getText().trim().equalsIgnoreCase(itemName)) {
+                        if (itemName.equalsIgnoreCase("About")) {
+                            clickWithControl(menuItem);
+                        } else {
+                            menuItem.click();
+                        }
+                        return;
                     }
-                    return;
                 }
-            }
 
-            throw new RuntimeException("Menu item not found: " + itemName);
+                throw new RuntimeException("Menu item not found: " + itemName);
+            });
         } catch (Exception e) {
             logger.error("Error while clicking hamburger menu item: {}", itemName, e);
             throw e;
         }
     }
 
+    /**
+     * Clicks an element with CONTROL held, so a link opens in a new tab.
+     * CONTROL is released even when the click fails, so a repeated step or the next action does not run with it held.
+     *
+     * @param element The element to click.
+     */
+    private void clickWithControl(WebElement element) {
+        try {
+            new Actions(driver).keyDown(Keys.CONTROL).click(element).perform();
+        } finally {
+            new Actions(driver).keyUp(Keys.CONTROL).perform();
+        }
+    }
+
     /**
      * Resets the application state by clicking the "Reset App State" menu item.
      */
@@ -118,15 +152,17 @@ public class BasePage {
      */
     public void clickSocialMediaIcon(String platform) {
         try {
-            for (WebElement socialLink : socialMediaLinks) {
-                String href = socialLink.getDomAttribute("href");
-                logger.info("Checking social media link: {}", href);
-                if (href != null && href.contains(platform.toLowerCase())) {
-                	socialLink.click();
-                    return;
+            retryStep("click social media icon '" + platform + "'", () -> {
+                for (WebElement socialLink : socialMediaLinks) {
+                    String href = socialLink.getDomAttribute("href");
+                    logger.info("Checking social media link: {}", href);
+                    if (href != null && href.contains(platform.toLowerCase())) {
+                        socialLink.click();
+                        return;
+                    }
                 }
-            }
-            throw new RuntimeException("Social media link not found: " + platform);
+                throw new RuntimeException("Social media link not found: " + platform);
+            });
         } catch (Exception e) {
             logger.error("Error while clicking social media icon: {}", platform, e);
             throw e;
@@ -249,6 +285,92 @@ public class BasePage {
         }
     }
 
+    /**
+     * Runs a page-object step, running it again when it fails on a transient element error.
+     * The step must locate its elements itself (By lookups or @FindBy proxies), so every attempt works on freshly
+     * located elements, and must be safe to repeat. At most stepRetryAttempts repeats are made, stepRetryDelayMillis
+     * apart, before the error escapes to the test; a one-off stale element costs one more lookup instead of a test retry.
+     *
+     * @param step   A short description of the step, for logging.
+     * @param action The step to run.
+     * @return The result of the step.
+     */
+    protected <T> T retryStep(String step, Supplier<T> action) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (attempt >= ConfigReader.getStepRetryAttempts() || !isTransientElementError(e)) {
+                    throw e;
+                }
+                logger.warn("Step '{}' hit {}, locating the elements again ({} out of {} repeats).",
+                        step, e.getClass().getSimpleName(), attempt + 1, ConfigReader.getStepRetryAttempts());
+                pauseBeforeRepeat();
+            }
+        }
+    }
+
+    /**
+     * Runs a page-object step that returns nothing, running it again when it fails on a transient element error.
+     *
+     * @param step   A short description of the step, for logging.
+     * @param action The step to run.
+     * @see #retryStep(String, Supplier)
+     */
+    protected void retryStep(String step, Runnable action) {
+        retryStep(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static boolean isTransientElementError(RuntimeException e) {
+        for (Class<? extends RuntimeException> errorClass : TRANSIENT_ELEMENT_ERRORS) {
+            if (errorClass.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void pauseBeforeRepeat() {
+        try {
+            Thread.sleep(ConfigReader.getStepRetryDelayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fills the given input fields with their values.
+     * Uses sendKeys by default; when fast form fill is enabled, all fields are set in a single script call.
+     * The fields are passed as a list of pairs rather than a map, as hashing a PageFactory proxy looks the element up.
+     *
+     * @param fieldValues The input fields paired with the values to enter, in fill order.
+     */
+    public void fillInputs(List<Map.Entry<WebElement, String>> fieldValues) {
+        try {
+            if (ConfigReader.isFastFormFill()) {
+                logger.info("Filling {} input fields via script.", fieldValues.size());
+                Object[] arguments = new Object[fieldValues.size() * 2];
+                int index = 0;
+                for (Map.Entry<WebElement, String> fieldValue : fieldValues) {
+                    arguments[index++] = fieldValue.getKey();
+                    arguments[index++] = fieldValue.getValue();
+                }
+                ((JavascriptExecutor) driver).executeScript(FAST_FILL_SCRIPT, arguments);
+            } else {
+                logger.info("Filling {} input fields via sendKeys.", fieldValues.size());
+                for (Map.Entry<WebElement, String> fieldValue : fieldValues) {
+                    fieldValue.getKey().sendKeys(fieldValue.getValue());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error while filling input fields.", e);
+            throw e;
+        }
+    }
+
     /**
      * Navigates to the cart page.
      *
@@ -256,7 +378,7 @@ public class BasePage {
      */
     public CartPage goToCartPage() {
         try {
-            cartHeader.click();
+            retryStep("open the cart", cartHeader::click);
             return new CartPage(driver);
         } catch (Exception e) {
             logger.error("Error while navigating to cart page.", e);
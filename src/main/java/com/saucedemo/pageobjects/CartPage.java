@@ -120,11 +120,13 @@ public class CartPage extends BasePage {
      * @throws NoSuchElementException if the product or description is not found.
      */
     public String getProductDescription(String productName) {
-        WebElement product = getCartItemByName(productName);
-        if (product == null) {
-            throw new NoSuchElementException("Product '" + productName + "' not found in the cart.");
-        }
-        return product.findElement(cartItemDescriptionBy).getText();
+        return retryStep("read the description of '" + productName + "'", () -> {
+            WebElement product = getCartItemByName(productName);
+            if (product == null) {
+                throw new NoSuchElementException("Product '" + productName + "' not found in the cart.");
+            }
+            return product.findElement(cartItemDescriptionBy).getText();
+        });
     }
 
     /**
@@ -135,11 +137,13 @@ public class CartPage extends BasePage {
      * @throws NoSuchElementException if the product or price is not found.
      */
     public String getProductPrice(String productName) {
-        WebElement product = getCartItemByName(productName);
-        if (product == null) {
-            throw new NoSuchElementException("Product '" + productName + "' not found in the cart.");
-        }
-        return product.findElement(cartItemPriceBy).getText();
+        return retryStep("read the price of '" + productName + "'", () -> {
+            WebElement product = getCartItemByName(productName);
+            if (product == null) {
+                throw new NoSuchElementException("Product '" + productName + "' not found in the cart.");
+            }
+            return product.findElement(cartItemPriceBy).getText();
+        });
     }
 
     /**
@@ -149,13 +153,15 @@ public class CartPage extends BasePage {
      */
     public void removeProductFromCart(String productName) {
         try {
-            WebElement product = getCartItemByName(productName);
-            if (product != null) {
-                product.findElement(cartItemRemoveButtonBy).click();
-                logger.info("Product '{}' removed from the cart.", productName);
-            } else {
-                logger.warn("Product '{}' not found in the cart.", productName);
-            }
+            retryStep("remove '" + productName + "' from the cart", () -> {
+                WebElement product = getCartItemByName(productName);
+                if (product != null) {
+                    product.findElement(cartItemRemoveButtonBy).click();
+                    logger.info("Product '{}' removed from the cart.", productName);
+                } else {
+                    logger.warn("Product '{}' not found in the cart.", productName);
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while removing product '{}' from the cart.", productName, e);
             throw e;
@@ -170,13 +176,13 @@ public class CartPage extends BasePage {
     public List<HashMap<String, String>> getAllProductDetails() {
         try {
             logger.info("Fetching all product details from the cart.");
-            return getCartItems().stream().map(item -> {
+            return retryStep("read all cart item details", () -> getCartItems().stream().map(item -> {
                 HashMap<String, String> productDetails = new HashMap<>();
                 productDetails.put("name", item.findElement(cartItemNameBy).getText());
                 productDetails.put("description", item.findElement(cartItemDescriptionBy).getText());
                 productDetails.put("price", item.findElement(cartItemPriceBy).getText());
                 return productDetails;
-            }).collect(Collectors.toList());
+            }).collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error while fetching product details from the cart.", e);
             throw e;
@@ -191,7 +197,7 @@ public class CartPage extends BasePage {
     public ProductCatalogPage clickContinueShoppingButton() {
         try {
             logger.info("Clicking 'Continue Shopping' button.");
-            continueShoppingButton.click();
+            retryStep("click 'Continue Shopping'", continueShoppingButton::click);
             return new ProductCatalogPage(driver);
         } catch (Exception e) {
             logger.error("Error while clicking 'Continue Shopping' button.", e);
@@ -209,12 +215,14 @@ public class CartPage extends BasePage {
     public ProductDetailsPage goToProductDetailsPage(String productName) {
         try {
             logger.info("Navigating to the product details page for '{}'.", productName);
-            WebElement product = getCartItemByName(productName);
-            if (product == null) {
-            	logger.warn("Product '{}' not found in the cart for navigation.", productName);
-            	throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
-            }
-            product.findElement(cartItemNameBy).click();
+            retryStep("open the details of '" + productName + "'", () -> {
+                WebElement product = getCartItemByName(productName);
+                if (product == null) {
+                    logger.warn("Product '{}' not found in the cart for navigation.", productName);
+                    throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
+                }
+                product.findElement(cartItemNameBy).click();
+            });
             logger.info("Navigated to the product details page for '{}'.", productName);
             return new ProductDetailsPage(driver);
         } catch (Exception e) {
@@ -247,7 +255,7 @@ public class CartPage extends BasePage {
     public CheckoutYourInformationPage clickCheckoutButton() {
         try {
             logger.info("Clicking 'Checkout' button.");
-            checkoutButton.click();
+            retryStep("click 'Checkout'", checkoutButton::click);
             return new CheckoutYourInformationPage(driver);
         } catch (Exception e) {
             logger.error("Error while clicking 'Checkout' button.", e);
@@ -82,7 +82,7 @@ public class CheckoutCompletePage extends BasePage {
         try {
             logger.info("Clicking the 'Back Home' button.");
             waitForWebElementToAppear(backToProductsButton);
-            backToProductsButton.click();
+            retryStep("click 'Back Home'", backToProductsButton::click);
             logger.info("'Back Home' button clicked successfully.");
             return new ProductCatalogPage(driver);
         } catch (Exception e) {
@@ -119,13 +119,13 @@ public class CheckoutOverviewPage extends BasePage {
     public List<HashMap<String, String>> getAllProductDetails() {
         try {
             logger.info("Fetching all product details from the Checkout: Overview page.");
-            return getOverviewCartItems().stream().map(item -> {
+            return retryStep("read all overview item details", () -> getOverviewCartItems().stream().map(item -> {
                 HashMap<String, String> productDetails = new HashMap<>();
                 productDetails.put("name", item.findElement(cartItemNameBy).getText());
                 productDetails.put("description", item.findElement(cartItemDescriptionBy).getText());
                 productDetails.put("price", item.findElement(cartItemPriceBy).getText());
                 return productDetails;
-            }).collect(Collectors.toList());
+            }).collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error while fetching product details.", e);
             throw e;
@@ -174,9 +174,10 @@ public class CheckoutOverviewPage extends BasePage {
         try {
             logger.info("Verifying the total computation on the Checkout: Overview page.");
 
-            double itemTotalValue = Double.parseDouble(itemTotal.getText().replace("Item total: $", ""));
-            double taxValue = Double.parseDouble(tax.getText().replace("Tax: $", ""));
-            double totalValue = Double.parseDouble(total.getText().replace("Total: $", ""));
+            double itemTotalValue = retryStep("read the item total",
+                    () -> Double.parseDouble(itemTotal.getText().replace("Item total: $", "")));
+            double taxValue = retryStep("read the tax", () -> Double.parseDouble(tax.getText().replace("Tax: $", "")));
+            double totalValue = retryStep("read the total", () -> Double.parseDouble(total.getText().replace("Total: $", "")));
 
             double computedTax = Math.round(itemTotalValue * taxRate * 100.0) / 100.0;
             double computedTotal = Math.round((itemTotalValue + computedTax) * 100.0) / 100.0;
@@ -200,7 +201,7 @@ public class CheckoutOverviewPage extends BasePage {
         try {
             logger.info("Clicking the 'Finish' button.");
             waitForWebElementToAppear(finishButton);
-            finishButton.click();
+            retryStep("click 'Finish'", finishButton::click);
             return new CheckoutCompletePage(driver);
         } catch (Exception e) {
             logger.error("Error while clicking the 'Finish' button.", e);
@@ -217,7 +218,7 @@ public class CheckoutOverviewPage extends BasePage {
         try {
             logger.info("Clicking the 'Cancel' button.");
             waitForWebElementToAppear(cancelButton);
-            cancelButton.click();
+            retryStep("click 'Cancel'", cancelButton::click);
             return new ProductCatalogPage(driver);
         } catch (Exception e) {
             logger.error("Error while clicking the 'Cancel' button.", e);
@@ -235,12 +236,14 @@ public class CheckoutOverviewPage extends BasePage {
     public ProductDetailsPage goToProductDetailsPage(String productName) {
         try {
             logger.info("Navigating to the product details page for '{}'.", productName);
-            WebElement product = getCartItemByName(productName);
-            if (product == null) {
-            	logger.warn("Product '{}' not found in the cart for navigation.", productName);
-            	throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
-            }
-            product.findElement(cartItemNameBy).click();
+            retryStep("open the details of '" + productName + "'", () -> {
+                WebElement product = getCartItemByName(productName);
+                if (product == null) {
+                    logger.warn("Product '{}' not found in the cart for navigation.", productName);
+                    throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
+                }
+                product.findElement(cartItemNameBy).click();
+            });
             logger.info("Navigated to the product details page for '{}'.", productName);
             return new ProductDetailsPage(driver);
         } catch (Exception e) {
@@ -1,5 +1,8 @@
 package com.saucedemo.pageobjects;
 
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -58,9 +61,10 @@ public class CheckoutYourInformationPage extends BasePage {
         try {
             logger.info("Entering checkout information.");
             waitForWebElementToAppear(firstNameInput);
-            firstNameInput.sendKeys(firstName);
-            lastNameInput.sendKeys(lastName);
-            postalCodeInput.sendKeys(postalCode);
+            fillInputs(List.of(
+                    Map.entry(firstNameInput, firstName),
+                    Map.entry(lastNameInput, lastName),
+                    Map.entry(postalCodeInput, postalCode)));
             logger.info("Checkout information entered successfully.");
         } catch (Exception e) {
             logger.error("Error while entering checkout information.", e);
@@ -77,7 +81,7 @@ public class CheckoutYourInformationPage extends BasePage {
         try {
             logger.info("Clicking the 'Continue' button on the Checkout: Your Information page.");
             waitForWebElementToAppear(continueButton);
-            continueButton.click();
+            retryStep("click 'Continue'", continueButton::click);
             logger.info("'Continue' button clicked successfully.");
             return new CheckoutOverviewPage(driver);
         } catch (Exception e) {
@@ -95,7 +99,7 @@ public class CheckoutYourInformationPage extends BasePage {
         try {
             logger.info("Clicking the 'Cancel' button on the Checkout: Your Information page.");
             waitForWebElementToAppear(cancelButton);
-            cancelButton.click();
+            retryStep("click 'Cancel'", cancelButton::click);
             logger.info("'Cancel' button clicked successfully.");
             return new CartPage(driver);
         } catch (Exception e) {
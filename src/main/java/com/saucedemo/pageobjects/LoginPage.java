@@ -1,5 +1,8 @@
 package com.saucedemo.pageobjects;
 
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -52,9 +55,8 @@ public class LoginPage extends BasePage {
         try {
             logger.info("Attempting to log in.");
             waitForWebElementToAppear(userEmail);
-            userEmail.sendKeys(username);
-            userPassword.sendKeys(password);
-            loginButton.click();
+            fillInputs(List.of(Map.entry(userEmail, username), Map.entry(userPassword, password)));
+            retryStep("click 'Login'", loginButton::click);
             logger.info("Login button clicked successfully.");
             return new ProductCatalogPage(driver);
         } catch (Exception e) {
@@ -71,13 +71,13 @@ public class ProductCatalogPage extends BasePage {
     public List<HashMap<String, String>> getAllProductDetails() {
         try {
             logger.info("Fetching all product details.");
-            return getProductList().stream().map(item -> {
+            return retryStep("read all product details", () -> getProductList().stream().map(item -> {
                 HashMap<String, String> productDetails = new HashMap<>();
                 productDetails.put("name", item.findElement(productNameBy).getText());
                 productDetails.put("description", item.findElement(productDescriptionBy).getText());
                 productDetails.put("price", item.findElement(productPriceBy).getText());
                 return productDetails;
-            }).collect(Collectors.toList());
+            }).collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error while fetching product details.", e);
             throw e;
@@ -110,13 +110,15 @@ public class ProductCatalogPage extends BasePage {
      */
     public void addProductToCart(String productName) {
         try {
-            WebElement product = getProductByName(productName);
-            if (product != null) {
-                product.findElement(addToCartButtonBy).click();
-                logger.info("Added product '{}' to the cart.", productName);
-            } else {
-                logger.warn("Product '{}' not found for adding to the cart.", productName);
-            }
+            retryStep("add '" + productName + "' to the cart", () -> {
+                WebElement product = getProductByName(productName);
+                if (product != null) {
+                    product.findElement(addToCartButtonBy).click();
+                    logger.info("Added product '{}' to the cart.", productName);
+                } else {
+                    logger.warn("Product '{}' not found for adding to the cart.", productName);
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while adding product '{}' to the cart.", productName, e);
             throw e;
@@ -130,13 +132,15 @@ public class ProductCatalogPage extends BasePage {
      */
     public void removeProductFromCart(String productName) {
         try {
-            WebElement product = getProductByName(productName);
-            if (product != null) {
-                product.findElement(removeButtonBy).click();
-                logger.info("Removed product '{}' from the cart.", productName);
-            } else {
-                logger.warn("Product '{}' not found for removal from the cart.", productName);
-            }
+            retryStep("remove '" + productName + "' from the cart", () -> {
+                WebElement product = getProductByName(productName);
+                if (product != null) {
+                    product.findElement(removeButtonBy).click();
+                    logger.info("Removed product '{}' from the cart.", productName);
+                } else {
+                    logger.warn("Product '{}' not found for removal from the cart.", productName);
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while removing product '{}' from the cart.", productName, e);
             throw e;
@@ -151,7 +155,7 @@ public class ProductCatalogPage extends BasePage {
     public void sortProducts(String sortOption) {
         try {
             logger.info("Sorting products by: {}", sortOption);
-            new Select(sortDropdown).selectByVisibleText(sortOption);
+            retryStep("sort products by '" + sortOption + "'", () -> new Select(sortDropdown).selectByVisibleText(sortOption));
             waitForElementToAppear(productsBy);
 
             switch (sortOption) {
@@ -209,18 +213,20 @@ public class ProductCatalogPage extends BasePage {
     public ProductDetailsPage goToProductDetailsPageByName(String productName) {
         try {
             logger.info("Navigating to the product details page by clicking the name for '{}'.", productName);
-            WebElement product = getProductByName(productName);
-            if (product == null) {
-            	logger.warn("Product '{}' not found for navigation.", productName);
-                throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
-            }
+            retryStep("open the details of '" + productName + "' by name", () -> {
+                WebElement product = getProductByName(productName);
+                if (product == null) {
+                    logger.warn("Product '{}' not found for navigation.", productName);
+                    throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
+                }
 
-            WebElement productNameElement = product.findElement(productNameBy);
-            if (!productNameElement.isDisplayed()) {
-            	logger.warn("Product name for '{}' is not displayed.", productName);
-                throw new NoSuchElementException("Product name element for '" + productName + "' is not displayed.");
-            }
-            productNameElement.click();
+                WebElement productNameElement = product.findElement(productNameBy);
+                if (!productNameElement.isDisplayed()) {
+                    logger.warn("Product name for '{}' is not displayed.", productName);
+                    throw new NoSuchElementException("Product name element for '" + productName + "' is not displayed.");
+                }
+                productNameElement.click();
+            });
             logger.info("Navigated to the details page of product: {}", productName);
             return new ProductDetailsPage(driver);
         } catch (Exception e) {
@@ -239,18 +245,20 @@ public class ProductCatalogPage extends BasePage {
     public ProductDetailsPage goToProductDetailsPageByImage(String productName) {
         try {
             logger.info("Navigating to the product details page by clicking the image for '{}'.", productName);
-            WebElement product = getProductByName(productName);
-            if (product == null) {
-            	logger.warn("Product '{}' not found for navigation.", productName);
-                throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
-            }
+            retryStep("open the details of '" + productName + "' by image", () -> {
+                WebElement product = getProductByName(productName);
+                if (product == null) {
+                    logger.warn("Product '{}' not found for navigation.", productName);
+                    throw new NoSuchElementException("Product '" + productName + "' not found for navigation.");
+                }
 
-            WebElement productImageElement = product.findElement(productImageBy);
-            if (!productImageElement.isDisplayed()) {
-            	logger.warn("Product image for '{}' is not displayed.", productName);
-                throw new NoSuchElementException("Product image for '" + productName + "' is not displayed.");
-            }
-            productImageElement.click();
+                WebElement productImageElement = product.findElement(productImageBy);
+                if (!productImageElement.isDisplayed()) {
+                    logger.warn("Product image for '{}' is not displayed.", productName);
+                    throw new NoSuchElementException("Product image for '" + productName + "' is not displayed.");
+                }
+                productImageElement.click();
+            });
             logger.info("Navigated to the details page of product: {}", productName);
             return new ProductDetailsPage(driver);
         } catch (Exception e) {
@@ -286,9 +294,9 @@ public class ProductCatalogPage extends BasePage {
      */
     public List<String> getAllProductNames() {
         try {
-            return getProductList().stream()
+            return retryStep("read all product names", () -> getProductList().stream()
                     .map(product -> product.findElement(productNameBy).getText())
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error while fetching all product names.", e);
             throw e;
@@ -302,9 +310,9 @@ public class ProductCatalogPage extends BasePage {
      */
     public List<Double> getAllProductPrices() {
         try {
-            return getProductList().stream()
+            return retryStep("read all product prices", () -> getProductList().stream()
                     .map(product -> Double.parseDouble(product.findElement(productPriceBy).getText().replaceAll("[^\\d.]", "")))
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error while fetching all product prices.", e);
             throw e;
@@ -103,12 +103,14 @@ public class ProductDetailsPage extends BasePage {
      */
     public void clickAddToCartButton() {
         try {
-            if (addToCartButton.isDisplayed()) {
-                addToCartButton.click();
-                logger.info("Clicked 'Add to Cart' button.");
-            } else {
-                logger.warn("'Add to Cart' button is not displayed.");
-            }
+            retryStep("click 'Add to Cart'", () -> {
+                if (addToCartButton.isDisplayed()) {
+                    addToCartButton.click();
+                    logger.info("Clicked 'Add to Cart' button.");
+                } else {
+                    logger.warn("'Add to Cart' button is not displayed.");
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while clicking 'Add to Cart' button.", e);
             throw e;
@@ -120,12 +122,14 @@ public class ProductDetailsPage extends BasePage {
      */
     public void clickRemoveButton() {
         try {
-            if (removeButton.isDisplayed()) {
-                removeButton.click();
-                logger.info("Clicked 'Remove' button.");
-            } else {
-                logger.warn("'Remove' button is not displayed.");
-            }
+            retryStep("click 'Remove'", () -> {
+                if (removeButton.isDisplayed()) {
+                    removeButton.click();
+                    logger.info("Clicked 'Remove' button.");
+                } else {
+                    logger.warn("'Remove' button is not displayed.");
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while clicking 'Remove' button.", e);
             throw e;
@@ -173,7 +177,7 @@ public class ProductDetailsPage extends BasePage {
         try {
             logger.info("Clicking the 'Back to Products' button.");
             waitForWebElementToAppear(backToProductsButton);
-            backToProductsButton.click();
+            retryStep("click 'Back to Products'", backToProductsButton::click);
             logger.info("'Back to Products' button clicked successfully.");
             return new ProductCatalogPage(driver);
         } catch (Exception e) {
@@ -1,29 +1,135 @@
 package com.saucedemo.utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Utility class to read configuration properties from the config.properties file.
  * It prioritizes system properties over values in config.properties.
+ * The file is loaded from the classpath, and every setting is resolved, trimmed and parsed once at
+ * class initialization into an immutable typed snapshot, so getters are plain field reads.
+ * Relative paths are resolved against the project directory: the basedir system property, which Maven sets to the
+ * directory of pom.xml, or the working directory when it is not set (e.g. a run started from an IDE).
+ * Absolute paths are used as they are.
  */
 public class ConfigReader {
 
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private static final String CONFIG_FILE_PATH = Paths.get(System.getProperty("user.dir"), "src/main/resources/config.properties").toString();
-    private static final Properties properties = new Properties();
-
-    // Static block to load properties at class initialization
-    static {
-        try (FileInputStream inputStream = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties.load(inputStream);
-            logger.info("Configuration properties loaded successfully from {}", CONFIG_FILE_PATH);
+    private static final String CONFIG_RESOURCE = "config.properties";
+    private static final Properties properties = loadProperties();
+
+    // Data-provider specific settings, resolved once per provider on first use
+    private static final Map<String, String> providerSettings = new ConcurrentHashMap<>();
+
+    // Immutable configuration snapshot, resolved once at class initialization
+    private static final String BROWSER = getProperty("browser");
+    private static final String BASE_URL = getProperty("baseUrl");
+    private static final int IMPLICIT_WAIT = getIntProperty("implicitWait");
+    private static final int EXPLICIT_WAIT = getIntProperty("explicitWait");
+    private static final boolean HEADLESS = getBooleanProperty("headless");
+    private static final boolean FAST_FORM_FILL = getBooleanProperty("fastFormFill");
+    private static final int STEP_RETRY_ATTEMPTS = getIntProperty("stepRetryAttempts");
+    private static final int STEP_RETRY_DELAY_MILLIS = getIntProperty("stepRetryDelayMillis");
+    private static final String PARALLEL_MODE = getProperty("parallelMode");
+    private static final int THREAD_COUNT = getCountProperty("threadCount");
+    private static final int DATA_PROVIDER_THREAD_COUNT = getCountProperty("dataProviderThreadCount");
+    private static final int BROWSER_MEMORY_MB = getIntProperty("browserMemoryMb");
+    private static final int MEMORY_RESERVE_MB = getIntProperty("memoryReserveMb");
+    private static final double CORES_PER_BROWSER = getDoubleProperty("coresPerBrowser");
+    private static final int SHARD_TOTAL = getIntProperty("shard.total");
+    private static final int SHARD_INDEX = getIntProperty("shard.index");
+    private static final String SHARD_RUN_ID = getProperty("shard.runId");
+    private static final String SHARD_RUN_DIRECTORY = Paths.get(getPathProperty("shardPath"), SHARD_RUN_ID).toString();
+    private static final String SHARD_DIRECTORY = resolveShardDirectory();
+    private static final String TEST_DATA_PATH = getPathProperty("testDataPath");
+    private static final boolean TEST_DATA_STREAMING = getBooleanProperty("testDataStreaming");
+    private static final int TEST_DATA_STREAMING_BUFFER_RECORDS = getIntProperty("testDataStreamingBufferRecords");
+    private static final boolean TEST_DATA_BINARY_CACHE = getBooleanProperty("testDataBinaryCache");
+    private static final String TEST_DATA_CACHE_PATH = getPathProperty("testDataCachePath");
+    private static final String SCREENSHOT_PATH = getShardScopedPath(getPathProperty("screenshotPath"), "screenshots");
+    private static final String SCREENSHOT_FORMAT = getProperty("screenshotFormat");
+    private static final int SCREENSHOT_PNG_COMPRESSION_LEVEL = getIntProperty("screenshotPngCompressionLevel");
+    private static final int SCREENSHOT_JPEG_QUALITY = getIntProperty("screenshotJpegQuality");
+    private static final int SCREENSHOT_MAX_DIMENSION = getIntProperty("screenshotMaxDimension");
+    private static final boolean FLIGHT_RECORDER = getBooleanProperty("flightRecorder");
+    private static final int FLIGHT_RECORDER_FRAMES = getIntProperty("flightRecorderFrames");
+    private static final long FLIGHT_RECORDER_MAX_BYTES = getIntProperty("flightRecorderMaxBytes");
+    private static final int FLIGHT_RECORDER_DOM_CHARS = getIntProperty("flightRecorderDomChars");
+    private static final int FLIGHT_RECORDER_COMMANDS = getIntProperty("flightRecorderCommands");
+    private static final boolean SCREENCAST = getBooleanProperty("screencast");
+    private static final int SCREENCAST_FPS = getIntProperty("screencastFps");
+    private static final int SCREENCAST_QUALITY = getIntProperty("screencastQuality");
+    private static final int SCREENCAST_MAX_WIDTH = getIntProperty("screencastMaxWidth");
+    private static final int SCREENCAST_MAX_HEIGHT = getIntProperty("screencastMaxHeight");
+    private static final int SCREENCAST_MAX_FRAMES = getIntProperty("screencastMaxFrames");
+    private static final boolean SESSION_REPLAY = getBooleanProperty("sessionReplay");
+    private static final int SESSION_REPLAY_MAX_EVENTS = getIntProperty("sessionReplayMaxEvents");
+    private static final int SCREENSHOT_WRITER_THREADS = getIntProperty("screenshotWriterThreads");
+    private static final int SCREENSHOT_QUEUE_CAPACITY = getIntProperty("screenshotQueueCapacity");
+    private static final String REPORT_PATH = getShardScopedPath(getPathProperty("reportPath"), "reports");
+    private static final int REPORT_FLUSH_EVERY_TESTS = getIntProperty("reportFlushEveryTests");
+    private static final int REPORT_FLUSH_INTERVAL_SECONDS = getIntProperty("reportFlushIntervalSeconds");
+    private static final int REPORT_SEGMENT_SIZE = getIntProperty("reportSegmentSize");
+    private static final int REPORT_FLUSH_MAX_PERCENT = getIntProperty("reportFlushMaxPercent");
+    private static final int REPORT_CLOSE_TIMEOUT_SECONDS = getIntProperty("reportCloseTimeoutSeconds");
+    private static final int REPORT_QUEUE_CAPACITY = getIntProperty("reportQueueCapacity");
+    private static final int REPORT_QUEUE_TIMEOUT_SECONDS = getIntProperty("reportQueueTimeoutSeconds");
+    private static final boolean TIMING_STREAM = getBooleanProperty("timingStream");
+    private static final int RETRY_MAX_ATTEMPTS = getIntProperty("retryMaxAttempts");
+    private static final List<String> RETRY_ON_EXCEPTIONS = getListProperty("retryOnExceptions");
+    private static final int RETRY_SUITE_BUDGET = getIntProperty("retrySuiteBudget");
+    private static final String RETRY_HISTORY_PATH = getPathProperty("retryHistoryPath");
+    private static final int RETRY_HISTORY_MIN_RETRIES = getIntProperty("retryHistoryMinRetries");
+    private static final boolean CIRCUIT_BREAKER = getBooleanProperty("circuitBreaker");
+    private static final List<String> CIRCUIT_BREAKER_GROUPS = getListProperty("circuitBreakerGroups");
+    private static final int CIRCUIT_BREAKER_GROUP_FAILURES = getIntProperty("circuitBreakerGroupFailures");
+    private static final int CIRCUIT_BREAKER_FAILURE_RATE = getIntProperty("circuitBreakerFailureRate");
+    private static final int CIRCUIT_BREAKER_WINDOW = getIntProperty("circuitBreakerWindow");
+    private static final String TEST_ORDER = getProperty("testOrder");
+    private static final double FAILURE_FIRST_CHANGED_PROBABILITY = getDoubleProperty("failureFirstChangedProbability");
+    private static final String CHANGE_BASE = getProperty("changeBase");
+    private static final String TEST_SELECTION = getProperty("testSelection");
+    private static final List<String> IMPACT_PACKAGES = getListProperty("impactPackages");
+    private static final List<String> IMPACT_IGNORED_FILES = getListProperty("impactIgnoredFiles");
+    private static final String DURATION_HISTORY_PATH = getPathProperty("durationHistoryPath");
+    private static final int DURATION_ESTIMATE_MILLIS = getIntProperty("durationEstimateMillis");
+    private static final int DURATION_ESTIMATE_DATA_PROVIDER_MILLIS = getIntProperty("durationEstimateDataProviderMillis");
+    // logback.xml reads shard.index itself, as logging starts before this class
+    private static final String LOG_PATH = SHARD_TOTAL > 1
+            ? Paths.get(getPathProperty("logPath"), String.valueOf(SHARD_INDEX)).toString()
+            : getPathProperty("logPath");
+    private static final String LOG_LEVEL = getProperty("logLevel");
+    private static final String ABOUT_PAGE_URL = getProperty("aboutPageUrl");
+    private static final String TWITTER_URL = getProperty("twitterUrl");
+    private static final String FACEBOOK_URL = getProperty("facebookUrl");
+    private static final String LINKEDIN_URL = getProperty("linkedinUrl");
+    private static final double TAX_RATE = getDoubleProperty("taxRate");
+
+    /**
+     * Loads config.properties from the classpath, so it is found both from the source tree and from a packaged jar.
+     *
+     * @return The loaded properties.
+     */
+    private static Properties loadProperties() {
+        Properties loaded = new Properties();
+        try (InputStream inputStream = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Resource not found on classpath: " + CONFIG_RESOURCE);
+            }
+            loaded.load(inputStream);
+            logger.info("Configuration properties loaded successfully from classpath resource {}", CONFIG_RESOURCE);
+            return loaded;
         } catch (IOException e) {
-            logger.error("Failed to load configuration properties from {}", CONFIG_FILE_PATH, e);
+            logger.error("Failed to load configuration properties from classpath resource {}", CONFIG_RESOURCE, e);
             throw new RuntimeException("Could not load configuration properties file", e);
         }
     }
@@ -47,10 +153,10 @@ public class ConfigReader {
         String filePropertyValue = properties.getProperty(key);
         if (filePropertyValue == null) {
             logger.warn("Property '{}' not found in system properties or configuration file.", key);
-        } else {
-            logger.debug("Using value from config.properties for '{}': '{}'", key, filePropertyValue);
+            return null;
         }
-        return filePropertyValue;
+        logger.debug("Using value from config.properties for '{}': '{}'", key, filePropertyValue);
+        return filePropertyValue.trim();
     }
 
     /**
@@ -74,6 +180,112 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * Retrieves a thread count that may be sized automatically.
+     *
+     * @param key The property key.
+     * @return The configured count, or 0 when the value is "auto".
+     */
+    private static int getCountProperty(String key) {
+        String value = getProperty(key);
+        if ("auto".equalsIgnoreCase(value)) {
+            return 0;
+        }
+        return getIntProperty(key);
+    }
+
+    /**
+     * Retrieves a property value as a path; a relative path is resolved against the project directory.
+     *
+     * @param key The property key.
+     * @return The absolute path.
+     */
+    private static String getPathProperty(String key) {
+        String value = getProperty(key);
+        if (value == null) {
+            logger.error("Property '{}' not found for path conversion.", key);
+            throw new IllegalArgumentException("Property '" + key + "' not found.");
+        }
+        return getBaseDirectory().resolve(value).normalize().toString();
+    }
+
+    /**
+     * Returns the directory relative paths are resolved against: the basedir system property set by Maven,
+     * otherwise the working directory.
+     *
+     * @return The absolute base directory.
+     */
+    private static Path getBaseDirectory() {
+        String baseDirectory = System.getProperty("basedir");
+        if (baseDirectory == null || baseDirectory.isBlank()) {
+            baseDirectory = System.getProperty("user.dir");
+        }
+        return Paths.get(baseDirectory.trim()).toAbsolutePath();
+    }
+
+    /**
+     * Returns the artifact directory of this shard, shardPath/shard.runId/shard-&lt;shard.index&gt;.
+     *
+     * @return The absolute directory.
+     * @throws IllegalArgumentException if shard.index is not within 0 and shard.total - 1.
+     */
+    private static String resolveShardDirectory() {
+        if (SHARD_TOTAL < 1 || SHARD_INDEX < 0 || SHARD_INDEX >= SHARD_TOTAL) {
+            logger.error("Invalid shard {} of {}", SHARD_INDEX, SHARD_TOTAL);
+            throw new IllegalArgumentException("shard.index must be between 0 and shard.total - 1, got "
+                    + SHARD_INDEX + " of " + SHARD_TOTAL);
+        }
+        return Paths.get(SHARD_RUN_DIRECTORY, "shard-" + SHARD_INDEX).toString();
+    }
+
+    /**
+     * Moves an artifact path into this shard's directory when the run is sharded.
+     *
+     * @param path The configured path.
+     * @param name The name of the artifact directory within the shard's directory.
+     * @return The path to write artifacts to.
+     */
+    private static String getShardScopedPath(String path, String name) {
+        return SHARD_TOTAL > 1 ? Paths.get(SHARD_DIRECTORY, name).toString() : path;
+    }
+
+    /**
+     * Retrieves a comma-separated property value as a list of trimmed, non-empty entries.
+     *
+     * @param key The property key.
+     * @return The entries, or an empty list if the property is not set.
+     */
+    private static List<String> getListProperty(String key) {
+        String value = getProperty(key);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Retrieves a data-provider specific setting, resolving it once per provider.
+     * Uses "key.providerName" when it is defined, otherwise the suite-wide key.
+     *
+     * @param key          The suite-wide property key.
+     * @param providerName The data provider name.
+     * @return The setting value.
+     */
+    private static String getProviderProperty(String key, String providerName) {
+        String providerKey = key + "." + providerName;
+        return providerSettings.computeIfAbsent(providerKey, ignored -> {
+            boolean overridden = System.getProperty(providerKey) != null || properties.containsKey(providerKey);
+            String value = getProperty(overridden ? providerKey : key);
+            if (value == null) {
+                throw new IllegalArgumentException("Property '" + key + "' not found.");
+            }
+            return value;
+        });
+    }
+
     /**
      * Retrieves a property value as a boolean.
      *
@@ -113,62 +325,350 @@ public class ConfigReader {
     // Public methods to retrieve specific configuration properties
 
     public static String getBrowser() {
-        return getProperty("browser");
+        return BROWSER;
     }
 
     public static String getBaseUrl() {
-        return getProperty("baseUrl");
+        return BASE_URL;
     }
 
     public static int getImplicitWait() {
-        return getIntProperty("implicitWait");
+        return IMPLICIT_WAIT;
     }
 
     public static int getExplicitWait() {
-        return getIntProperty("explicitWait");
+        return EXPLICIT_WAIT;
     }
 
     public static boolean isHeadless() {
-        return getBooleanProperty("headless");
+        return HEADLESS;
+    }
+
+    public static int getStepRetryAttempts() {
+        return STEP_RETRY_ATTEMPTS;
+    }
+
+    public static int getStepRetryDelayMillis() {
+        return STEP_RETRY_DELAY_MILLIS;
+    }
+
+    public static String getParallelMode() {
+        return PARALLEL_MODE;
+    }
+
+    public static int getThreadCount() {
+        return THREAD_COUNT;
+    }
+
+    public static int getDataProviderThreadCount() {
+        return DATA_PROVIDER_THREAD_COUNT;
+    }
+
+    public static boolean isSharded() {
+        return SHARD_TOTAL > 1;
+    }
+
+    public static int getShardIndex() {
+        return SHARD_INDEX;
+    }
+
+    public static int getShardTotal() {
+        return SHARD_TOTAL;
+    }
+
+    public static String getShardRunId() {
+        return SHARD_RUN_ID;
+    }
+
+    public static String getShardRunDirectory() {
+        return SHARD_RUN_DIRECTORY;
+    }
+
+    public static String getShardDirectory() {
+        return SHARD_DIRECTORY;
+    }
+
+    public static int getBrowserMemoryMb() {
+        return BROWSER_MEMORY_MB;
+    }
+
+    public static int getMemoryReserveMb() {
+        return MEMORY_RESERVE_MB;
+    }
+
+    public static double getCoresPerBrowser() {
+        return CORES_PER_BROWSER;
+    }
+
+    public static String getCombinationMode(String providerName) {
+        return getProviderProperty("combinationMode", providerName);
+    }
+
+    public static int getCombinationStrength(String providerName) {
+        return Integer.parseInt(getProviderProperty("combinationStrength", providerName));
+    }
+
+    public static int getCombinationSampleSize(String providerName) {
+        return Integer.parseInt(getProviderProperty("combinationSampleSize", providerName));
+    }
+
+    public static long getCombinationSeed(String providerName) {
+        return Long.parseLong(getProviderProperty("combinationSeed", providerName));
+    }
+
+    public static long getCombinationMaxTuples(String providerName) {
+        return Long.parseLong(getProviderProperty("combinationMaxTuples", providerName));
+    }
+
+    public static boolean isFastFormFill() {
+        return FAST_FORM_FILL;
     }
 
     public static String getTestDataPath() {
-        return Paths.get(System.getProperty("user.dir"), getProperty("testDataPath")).toString();
+        return TEST_DATA_PATH;
+    }
+
+    public static boolean isTestDataStreaming() {
+        return TEST_DATA_STREAMING;
+    }
+
+    public static int getTestDataStreamingBufferRecords() {
+        return TEST_DATA_STREAMING_BUFFER_RECORDS;
+    }
+
+    public static boolean isTestDataBinaryCacheEnabled() {
+        return TEST_DATA_BINARY_CACHE;
+    }
+
+    public static String getTestDataCachePath() {
+        return TEST_DATA_CACHE_PATH;
     }
 
     public static String getScreenshotPath() {
-        return Paths.get(System.getProperty("user.dir"), getProperty("screenshotPath")).toString();
+        return SCREENSHOT_PATH;
+    }
+
+    public static String getScreenshotFormat() {
+        return SCREENSHOT_FORMAT;
+    }
+
+    public static int getScreenshotPngCompressionLevel() {
+        return SCREENSHOT_PNG_COMPRESSION_LEVEL;
+    }
+
+    public static int getScreenshotJpegQuality() {
+        return SCREENSHOT_JPEG_QUALITY;
+    }
+
+    public static int getScreenshotMaxDimension() {
+        return SCREENSHOT_MAX_DIMENSION;
+    }
+
+    public static boolean isFlightRecorderEnabled() {
+        return FLIGHT_RECORDER;
+    }
+
+    public static int getFlightRecorderFrames() {
+        return FLIGHT_RECORDER_FRAMES;
+    }
+
+    public static long getFlightRecorderMaxBytes() {
+        return FLIGHT_RECORDER_MAX_BYTES;
+    }
+
+    public static int getFlightRecorderDomChars() {
+        return FLIGHT_RECORDER_DOM_CHARS;
+    }
+
+    public static int getFlightRecorderCommands() {
+        return FLIGHT_RECORDER_COMMANDS;
+    }
+
+    public static boolean isScreencastEnabled() {
+        return SCREENCAST;
+    }
+
+    public static int getScreencastFps() {
+        return SCREENCAST_FPS;
+    }
+
+    public static int getScreencastQuality() {
+        return SCREENCAST_QUALITY;
+    }
+
+    public static int getScreencastMaxWidth() {
+        return SCREENCAST_MAX_WIDTH;
+    }
+
+    public static int getScreencastMaxHeight() {
+        return SCREENCAST_MAX_HEIGHT;
+    }
+
+    public static int getScreencastMaxFrames() {
+        return SCREENCAST_MAX_FRAMES;
+    }
+
+    public static boolean isSessionReplayEnabled() {
+        return SESSION_REPLAY;
+    }
+
+    public static int getSessionReplayMaxEvents() {
+        return SESSION_REPLAY_MAX_EVENTS;
+    }
+
+    public static int getScreenshotWriterThreads() {
+        return SCREENSHOT_WRITER_THREADS;
+    }
+
+    public static int getScreenshotQueueCapacity() {
+        return SCREENSHOT_QUEUE_CAPACITY;
     }
 
     public static String getReportPath() {
-        return Paths.get(System.getProperty("user.dir"), getProperty("reportPath")).toString();
+        return REPORT_PATH;
+    }
+
+    public static int getReportFlushEveryTests() {
+        return REPORT_FLUSH_EVERY_TESTS;
+    }
+
+    public static int getReportFlushIntervalSeconds() {
+        return REPORT_FLUSH_INTERVAL_SECONDS;
+    }
+
+    public static int getReportSegmentSize() {
+        return REPORT_SEGMENT_SIZE;
+    }
+
+    public static int getReportFlushMaxPercent() {
+        return REPORT_FLUSH_MAX_PERCENT;
+    }
+
+    public static int getReportCloseTimeoutSeconds() {
+        return REPORT_CLOSE_TIMEOUT_SECONDS;
+    }
+
+    public static int getReportQueueCapacity() {
+        return REPORT_QUEUE_CAPACITY;
+    }
+
+    public static int getReportQueueTimeoutSeconds() {
+        return REPORT_QUEUE_TIMEOUT_SECONDS;
+    }
+
+    public static boolean isTimingStreamEnabled() {
+        return TIMING_STREAM;
+    }
+
+    public static int getRetryMaxAttempts() {
+        return RETRY_MAX_ATTEMPTS;
+    }
+
+    public static List<String> getRetryOnExceptions() {
+        return RETRY_ON_EXCEPTIONS;
+    }
+
+    public static int getRetrySuiteBudget() {
+        return RETRY_SUITE_BUDGET;
+    }
+
+    public static String getRetryHistoryPath() {
+        return RETRY_HISTORY_PATH;
+    }
+
+    public static int getRetryHistoryMinRetries() {
+        return RETRY_HISTORY_MIN_RETRIES;
+    }
+
+    public static boolean isCircuitBreakerEnabled() {
+        return CIRCUIT_BREAKER;
+    }
+
+    public static List<String> getCircuitBreakerGroups() {
+        return CIRCUIT_BREAKER_GROUPS;
+    }
+
+    public static int getCircuitBreakerGroupFailures() {
+        return CIRCUIT_BREAKER_GROUP_FAILURES;
+    }
+
+    public static int getCircuitBreakerFailureRate() {
+        return CIRCUIT_BREAKER_FAILURE_RATE;
+    }
+
+    public static int getCircuitBreakerWindow() {
+        return CIRCUIT_BREAKER_WINDOW;
+    }
+
+    public static String getTestOrder() {
+        return TEST_ORDER;
+    }
+
+    public static boolean isFailureFirstOrder() {
+        return "failureFirst".equalsIgnoreCase(TEST_ORDER);
+    }
+
+    public static double getFailureFirstChangedProbability() {
+        return FAILURE_FIRST_CHANGED_PROBABILITY;
+    }
+
+    public static String getChangeBase() {
+        return CHANGE_BASE;
+    }
+
+    public static String getTestSelection() {
+        return TEST_SELECTION;
+    }
+
+    public static boolean isImpactSelection() {
+        return "impact".equalsIgnoreCase(TEST_SELECTION);
+    }
+
+    public static List<String> getImpactPackages() {
+        return IMPACT_PACKAGES;
+    }
+
+    public static List<String> getImpactIgnoredFiles() {
+        return IMPACT_IGNORED_FILES;
+    }
+
+    public static String getDurationHistoryPath() {
+        return DURATION_HISTORY_PATH;
+    }
+
+    public static int getDurationEstimateMillis() {
+        return DURATION_ESTIMATE_MILLIS;
+    }
+
+    public static int getDurationEstimateDataProviderMillis() {
+        return DURATION_ESTIMATE_DATA_PROVIDER_MILLIS;
     }
 
     public static String getLogPath() {
-        return Paths.get(System.getProperty("user.dir"), getProperty("logPath")).toString();
+        return LOG_PATH;
     }
 
     public static String getLogLevel() {
-        return getProperty("logLevel");
+        return LOG_LEVEL;
     }
 
     public static String getAboutPageUrl() {
-        return getProperty("aboutPageUrl");
+        return ABOUT_PAGE_URL;
     }
 
     public static String getTwitterUrl() {
-        return getProperty("twitterUrl");
+        return TWITTER_URL;
     }
 
     public static String getFacebookUrl() {
-        return getProperty("facebookUrl");
+        return FACEBOOK_URL;
     }
 
     public static String getLinkedInUrl() {
-        return getProperty("linkedinUrl");
+        return LINKEDIN_URL;
     }
 
     public static double getTaxRate() {
-        return getDoubleProperty("taxRate");
+        return TAX_RATE;
     }
-}
\ No newline at end of file
+}
@@ -3,37 +3,45 @@ package com.saucedemo.basetest;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
 import com.saucedemo.pageobjects.LoginPage;
+import com.saucedemo.utils.TestSession;
 import com.saucedemo.utils.WebDriverFactory;
 
 /**
  * BaseTest class provides setup and teardown methods for WebDriver.
- * It initializes the WebDriver instance and navigates to the login page before each test method.
+ * It opens a TestSession with its own WebDriver instance and navigates to the login page before each test method.
  * It also provides a method to quit the WebDriver instance after each test method.
+ * The session belongs to the test invocation, so test methods and data-provider rows can run in parallel
+ * on a shared test class instance.
  */
 public class BaseTest {
 
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);  
-    private static final ThreadLocal<LoginPage> loginPageThreadLocal = new ThreadLocal<>();
 
     /**
 	 * Sets up the WebDriver instance before each test method.
 	 * Initializes the LoginPage object and navigates to the login page.
+	 *
+	 * @param result The result of the test invocation about to run, injected by TestNG.
 	 */
     @BeforeMethod(alwaysRun = true)
-    public void setUpDriver() {
+    public void setUpDriver(ITestResult result) {
         try {
             logger.info("Setting up WebDriver with default browser.");
+            TestSession session = TestSession.open(result);
             // Initialize WebDriver with a default browser
-            WebDriver driver = WebDriverFactory.getDriver();
+            WebDriver driver = WebDriverFactory.createDriver();
+            session.setDriver(driver);
 
             // Initialize the LoginPage object and navigate to the login page
             LoginPage loginPage = new LoginPage(driver);
             loginPage.goToLoginPage();
-            loginPageThreadLocal.set(loginPage);
+            session.setLoginPage(loginPage);
             logger.info("Navigated to the login page successfully.");
         } catch (Exception e) {
             logger.error("Error occurred during setup: {}", e.getMessage(), e);
@@ -43,12 +51,17 @@ public class BaseTest {
 
     /**
      * Tears down the WebDriver instance after each test method.
+     *
+     * @param result The result of the test invocation that just ran, injected by TestNG.
      */
     @AfterMethod(alwaysRun = true)
-    public void tearDownDriver() {
+    public void tearDownDriver(ITestResult result) {
         try {
             logger.info("Tearing down WebDriver.");
-            WebDriverFactory.quitDriver();
+            TestSession session = TestSession.of(result);
+            if (session != null) {
+                session.closeDriver();
+            }
             logger.info("WebDriver quit successfully.");
         } catch (Exception e) {
             logger.error("Error occurred during teardown: {}", e.getMessage(), e);
@@ -56,20 +69,30 @@ public class BaseTest {
     }
 
     /**
-	 * Provides the WebDriver instance for the current thread.
+	 * Provides the WebDriver instance of the running test invocation.
 	 *
-	 * @return The WebDriver instance for the current thread.
+	 * @return The WebDriver instance of the running test invocation, or null if there is none.
 	 */
     public WebDriver getDriver() {
-        return WebDriverFactory.getDriver();
+        TestSession session = currentSession();
+        return session != null ? session.getDriver() : null;
     }
         
     /**
-     * Provides the LoginPage instance for the current thread.
+     * Provides the LoginPage instance of the running test invocation.
      *
-     * @return The LoginPage instance for the current thread.
+     * @return The LoginPage instance of the running test invocation, or null if there is none.
      */
     public LoginPage getLoginPage() {
-        return loginPageThreadLocal.get();
+        TestSession session = currentSession();
+        return session != null ? session.getLoginPage() : null;
+    }
+
+    /**
+     * Returns the session of the running test invocation, from the ITestResult TestNG reports as current.
+     */
+    private TestSession currentSession() {
+        TestSession session = TestSession.of(Reporter.getCurrentTestResult());
+        return session != null ? session : TestSession.current();
     }
 }
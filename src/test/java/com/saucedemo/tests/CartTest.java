@@ -4,6 +4,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -24,7 +25,7 @@ public class CartTest extends BaseTest {
      * Test to add all products to the cart and then remove all products from the cart.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testAddAllProductsToCartAndRemove(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testAddAllProductsToCartAndRemove(Map<String, String> user, List<Map<String, String>> products) {
         try {
             logger.info("Starting test: testAddAllProductsToCartAndRemove");
 
@@ -38,7 +39,7 @@ public class CartTest extends BaseTest {
             logger.info("Initial cart count: {}", expectedCartCount);
 
             // Add each product to the cart and verify cart count incrementally
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
                 productCatalogPage.addProductToCart(productName);
                 expectedCartCount++;
@@ -55,7 +56,7 @@ public class CartTest extends BaseTest {
             logger.info("Verified cart details successfully.");
 
             // Remove products one by one and verify cart count dynamically
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
 
                 // Validate if the "Remove" button is displayed
@@ -86,7 +87,7 @@ public class CartTest extends BaseTest {
      * Test to add products to the cart one by one and verify cart functionality.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testAddProductsToCartOneByOne(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testAddProductsToCartOneByOne(Map<String, String> user, List<Map<String, String>> products) {
         try {
             logger.info("Starting test: testAddProductsToCartOneByOne");
 
@@ -99,7 +100,7 @@ public class CartTest extends BaseTest {
             int expectedCartCount = productCatalogPage.getCartItemCount();
             logger.info("Initial cart count: {}", expectedCartCount);
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
 
                 // Add product to cart
@@ -146,7 +147,7 @@ public class CartTest extends BaseTest {
      * Test to add and remove products from the cart and verify cart functionality.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testAddAndRemoveProductsFromCart(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testAddAndRemoveProductsFromCart(Map<String, String> user, List<Map<String, String>> products) {
         try {
             logger.info("Starting test: testAddAndRemoveProductsFromCart");
 
@@ -159,7 +160,7 @@ public class CartTest extends BaseTest {
             int expectedCartCount = productCatalogPage.getCartItemCount();
             logger.info("Initial cart count: {}", expectedCartCount);
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
 
                 // Add product to cart
@@ -214,7 +215,7 @@ public class CartTest extends BaseTest {
      * Test to verify cart persistence after logout and re-login.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testPersistentCart(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testPersistentCart(Map<String, String> user, List<Map<String, String>> products) {
         try {
             logger.info("Starting test: testPersistentCart");
 
@@ -229,7 +230,7 @@ public class CartTest extends BaseTest {
 
             // Add each product to the cart and verify cart count incrementally
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
                 productCatalogPage.addProductToCart(productName);
                 expectedCartCount++;
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 
 public class CheckoutTest extends BaseTest {
@@ -25,7 +26,7 @@ public class CheckoutTest extends BaseTest {
      * Test to verify a valid checkout process.
      */
     @Test(dataProvider = "validUsersWithProductsAndValidCheckoutDetails", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression", "smoke"})
-    public void testValidCheckout(HashMap<String, String> user, List<HashMap<String, String>> products, HashMap<String, String> checkoutDetails) {
+    public void testValidCheckout(Map<String, String> user, List<Map<String, String>> products, Map<String, String> checkoutDetails) {
         logger.info("Starting test: testValidCheckout");
 
         try {
@@ -72,7 +73,7 @@ public class CheckoutTest extends BaseTest {
 	 * Test to verify invalid checkout scenarios.
 	 */
     @Test(dataProvider = "validUsersWithProductsAndInvalidCheckoutDetails", dataProviderClass = DataProviderUtil.class, groups = {"functional", "negative", "regression"})
-    public void testInvalidCheckout(HashMap<String, String> user, List<HashMap<String, String>> products, HashMap<String, String> checkoutDetails) {
+    public void testInvalidCheckout(Map<String, String> user, List<Map<String, String>> products, Map<String, String> checkoutDetails) {
         logger.info("Starting test: testInvalidCheckout");
 
         try {
@@ -110,7 +111,7 @@ public class CheckoutTest extends BaseTest {
 	 * Test to verify canceling from the Checkout: Your Information Page.
 	 */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testCancelFromCheckoutYourInformationPage(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testCancelFromCheckoutYourInformationPage(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: testCancelFromCheckoutYourInformationPage");
 
         try {
@@ -144,7 +145,7 @@ public class CheckoutTest extends BaseTest {
 	 * Test to verify canceling from the Checkout: Overview Page.
 	 */     
     @Test(dataProvider = "validUsersWithProductsAndValidCheckoutDetails", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testCancelFromCheckoutOverviewPage(HashMap<String, String> user, List<HashMap<String, String>> products, HashMap<String, String> checkoutDetails) {
+    public void testCancelFromCheckoutOverviewPage(Map<String, String> user, List<Map<String, String>> products, Map<String, String> checkoutDetails) {
         logger.info("Starting test: testCancelFromCheckoutOverviewPage");
 
         try {
@@ -187,7 +188,7 @@ public class CheckoutTest extends BaseTest {
 	 * Test to verify removing products from the Checkout: Overview Page via Product Details Page.
 	 */         
     @Test(dataProvider = "validUsersWithProductsAndValidCheckoutDetails", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testRemoveFromProductDetailsPageViaCheckoutOverviewPage(HashMap<String, String> user, List<HashMap<String, String>> products, HashMap<String, String> checkoutDetails) {
+    public void testRemoveFromProductDetailsPageViaCheckoutOverviewPage(Map<String, String> user, List<Map<String, String>> products, Map<String, String> checkoutDetails) {
         logger.info("Starting test: testRemoveFromProductDetailsPageViaCheckoutOverviewPage");
 
         try {
@@ -221,7 +222,7 @@ public class CheckoutTest extends BaseTest {
             logger.info("Payment, shipping, and totals validated successfully.");
 
             // Remove products one by one and validate cart state
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
 
                 // Navigate to Product Details Page
@@ -276,7 +277,7 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to validate the details of a product on the Product Details Page
      */
-    private void validateProductDetails(ProductDetailsPage productDetailsPage, HashMap<String, String> product) {
+    private void validateProductDetails(ProductDetailsPage productDetailsPage, Map<String, String> product) {
         assertEquals(productDetailsPage.getProductName(), product.get("name"), 
             "Product name mismatch!");
         assertEquals(productDetailsPage.getProductDescription(), product.get("description"), 
@@ -288,10 +289,10 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to add products to the cart and validate cart count
      */
-    private void addProductsToCart(ProductCatalogPage productCatalogPage, List<HashMap<String, String>> products) {
+    private void addProductsToCart(ProductCatalogPage productCatalogPage, List<Map<String, String>> products) {
         int expectedCartCount = productCatalogPage.getCartItemCount();
 
-        for (HashMap<String, String> product : products) {
+        for (Map<String, String> product : products) {
             String productName = product.get("name");
             productCatalogPage.addProductToCart(productName);
             expectedCartCount++;
@@ -303,7 +304,7 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to navigate to the cart page and validate details
      */
-    private CartPage navigateToCartAndValidate(ProductCatalogPage productCatalogPage, List<HashMap<String, String>> products) {
+    private CartPage navigateToCartAndValidate(ProductCatalogPage productCatalogPage, List<Map<String, String>> products) {
         CartPage cartPage = productCatalogPage.goToCartPage();
         List<HashMap<String, String>> cartDetails = cartPage.getAllProductDetails();
         assertEquals(cartDetails, products, "Cart details mismatch!");
@@ -314,7 +315,7 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to enter checkout information
      */
-    private CheckoutYourInformationPage enterCheckoutInformation(CartPage cartPage, HashMap<String, String> checkoutDetails) {
+    private CheckoutYourInformationPage enterCheckoutInformation(CartPage cartPage, Map<String, String> checkoutDetails) {
         CheckoutYourInformationPage checkoutYourInformationPage = cartPage.clickCheckoutButton();
         assertTrue(checkoutYourInformationPage.isOnCheckoutYourInformationPage(), 
             "Failed to navigate to Checkout: Your Information Page!");
@@ -330,7 +331,7 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to validate cart overview products
      */
-    private void validateCartOverviewProducts(CheckoutOverviewPage checkoutOverviewPage, List<HashMap<String, String>> products) {
+    private void validateCartOverviewProducts(CheckoutOverviewPage checkoutOverviewPage, List<Map<String, String>> products) {
         List<HashMap<String, String>> overviewDetails = checkoutOverviewPage.getAllProductDetails();
         assertEquals(overviewDetails, products, "Overview details mismatch!");
     }
@@ -353,7 +354,7 @@ public class CheckoutTest extends BaseTest {
     /**
      * Helper method to validate error messages based on missing fields
      */
-    private void validateErrorMessage(HashMap<String, String> checkoutDetails, String actualErrorMessage) {
+    private void validateErrorMessage(Map<String, String> checkoutDetails, String actualErrorMessage) {
         if (checkoutDetails.get("firstName").isEmpty()) {
             assertEquals(actualErrorMessage, Messages.FIRST_NAME_REQUIRED, 
                 "Unexpected error message for missing first name!");
@@ -12,7 +12,7 @@ import org.testng.annotations.Test;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
-import java.util.HashMap;
+import java.util.Map;
 
 public class LoginTest extends BaseTest {
 
@@ -22,7 +22,7 @@ public class LoginTest extends BaseTest {
      * Test to verify valid login functionality.
      */
     @Test(dataProvider = "validUsers", dataProviderClass = DataProviderUtil.class, groups = {"smoke", "functional", "regression"})
-    public void testValidLogin(HashMap<String, String> userData) {
+    public void testValidLogin(Map<String, String> userData) {
         String username = userData.get("username");
         String password = userData.get("password");
 
@@ -47,7 +47,7 @@ public class LoginTest extends BaseTest {
      * Test to verify invalid login scenarios.
      */
     @Test(dataProvider = "invalidUsers", dataProviderClass = DataProviderUtil.class, groups = {"functional", "negative", "regression"})
-    public void testInvalidLogin(HashMap<String, String> userData) {
+    public void testInvalidLogin(Map<String, String> userData) {
         String username = userData.get("username");
         String password = userData.get("password");
 
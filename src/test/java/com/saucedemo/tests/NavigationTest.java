@@ -15,6 +15,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 
 public class NavigationTest extends BaseTest {
@@ -25,7 +26,7 @@ public class NavigationTest extends BaseTest {
      * Test to verify the functionality of the hamburger menu links.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testHamburgerMenuLinks(HashMap<String, String> userData, List<HashMap<String, String>> products) {
+    public void testHamburgerMenuLinks(Map<String, String> userData, List<Map<String, String>> products) {
         try {
             logger.info("Starting test: testHamburgerMenuLinks");
 
@@ -39,7 +40,7 @@ public class NavigationTest extends BaseTest {
             logger.info("Initial cart count: {}", expectedCartCount);
 
             // Add products to cart
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 String productName = product.get("name");
                 productCatalogPage.addProductToCart(productName);
                 expectedCartCount++;
@@ -87,7 +88,7 @@ public class NavigationTest extends BaseTest {
      * Test to verify the functionality of social media links.
      */
     @Test(dataProvider = "validUsers", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testSocialMediaLinks(HashMap<String, String> userData) {
+    public void testSocialMediaLinks(Map<String, String> userData) {
         try {
             logger.info("Starting test: testSocialMediaLinks");
 
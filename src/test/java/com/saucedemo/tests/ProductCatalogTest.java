@@ -4,6 +4,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -23,7 +24,7 @@ public class ProductCatalogTest extends BaseTest {
      * Test to verify product details on the Product Catalog Page.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void verifyProductDetails(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void verifyProductDetails(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: verifyProductDetails");
         try {
             // Login and navigate to Product Catalog Page
@@ -49,7 +50,7 @@ public class ProductCatalogTest extends BaseTest {
      * Test to add products to the cart and verify cart count incrementally.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void addProductsToCart(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void addProductsToCart(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: addProductsToCart");
         try {
             // Login and navigate to Product Catalog Page
@@ -69,7 +70,7 @@ public class ProductCatalogTest extends BaseTest {
      * Test to add and remove products from the cart and verify cart count dynamically.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testAddAndRemoveProducts(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testAddAndRemoveProducts(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: testAddAndRemoveProducts");
         try {
             // Login and navigate to Product Catalog Page
@@ -93,7 +94,7 @@ public class ProductCatalogTest extends BaseTest {
      * Test to verify product sorting functionality on the Product Catalog Page.
      */
     @Test(dataProvider = "validUsers", dataProviderClass = DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testProductSorting(HashMap<String, String> user) {
+    public void testProductSorting(Map<String, String> user) {
         logger.info("Starting test: testProductSorting");
         try {
             // Login and navigate to Product Catalog Page
@@ -146,10 +147,10 @@ public class ProductCatalogTest extends BaseTest {
     /**
     * Helper method to add a product to the cart and verify the cart count
     */
-    private void addProductToCartAndVerify(ProductCatalogPage productCatalogPage, List<HashMap<String, String>> products) {
+    private void addProductToCartAndVerify(ProductCatalogPage productCatalogPage, List<Map<String, String>> products) {
         int expectedCartCount = productCatalogPage.getCartItemCount();
 
-        for (HashMap<String, String> product : products) {
+        for (Map<String, String> product : products) {
             String productName = product.get("name");
             productCatalogPage.addProductToCart(productName);
             expectedCartCount++;
@@ -161,10 +162,10 @@ public class ProductCatalogTest extends BaseTest {
     /**
      * Helper method to remove a product from the cart and verify the cart count
      */
-    private void removeProductFromCartAndVerify(ProductCatalogPage productCatalogPage, List<HashMap<String, String>> products) {
+    private void removeProductFromCartAndVerify(ProductCatalogPage productCatalogPage, List<Map<String, String>> products) {
         int expectedCartCount = productCatalogPage.getCartItemCount();
 
-        for (HashMap<String, String> product : products) {
+        for (Map<String, String> product : products) {
         String productName = product.get("name");
     	productCatalogPage.removeProductFromCart(productName);
     	expectedCartCount--;
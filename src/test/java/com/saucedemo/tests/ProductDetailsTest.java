@@ -12,7 +12,7 @@ import org.testng.annotations.Test;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
-import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 
 public class ProductDetailsTest extends BaseTest {
@@ -23,7 +23,7 @@ public class ProductDetailsTest extends BaseTest {
      * Test to remove a product from the Product Details Page via the Product Catalog Page.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testRemoveFromProductDetailsPageViaProductCatalogPage(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testRemoveFromProductDetailsPageViaProductCatalogPage(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: testRemoveFromProductDetailsPageViaProductCatalogPage");
 
         try {
@@ -35,7 +35,7 @@ public class ProductDetailsTest extends BaseTest {
             int expectedCartCount = productCatalogPage.getCartItemCount();
             logger.info("Initial cart count: {}", expectedCartCount);
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 logger.info("Testing product: {}", product.get("name"));
 
                 // Add product to cart
@@ -78,7 +78,7 @@ public class ProductDetailsTest extends BaseTest {
      * Test to add a product to the cart from the Product Details Page via the Product Catalog Page.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testAddToCartFromProductDetailsPageViaProductCatalogPage(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testAddToCartFromProductDetailsPageViaProductCatalogPage(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: testAddToCartFromProductDetailsPageViaProductCatalogPage");
 
         try {
@@ -90,7 +90,7 @@ public class ProductDetailsTest extends BaseTest {
             int expectedCartCount = productCatalogPage.getCartItemCount();
             logger.info("Initial cart count: {}", expectedCartCount);
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 logger.info("Testing product: {}", product.get("name"));
 
                 // Navigate to Product Details Page
@@ -126,7 +126,7 @@ public class ProductDetailsTest extends BaseTest {
      * Test to remove a product from the Product Details Page via the Cart Page.
      */
     @Test(dataProvider = "validUsersWithProducts", dataProviderClass = com.saucedemo.utils.DataProviderUtil.class, groups = {"functional", "regression"})
-    public void testRemoveFromProductDetailsPageViaCartPage(HashMap<String, String> user, List<HashMap<String, String>> products) {
+    public void testRemoveFromProductDetailsPageViaCartPage(Map<String, String> user, List<Map<String, String>> products) {
         logger.info("Starting test: testRemoveFromProductDetailsPageViaCartPage");
 
         try {
@@ -138,7 +138,7 @@ public class ProductDetailsTest extends BaseTest {
             int expectedCartCount = productCatalogPage.getCartItemCount();
             logger.info("Initial cart count: {}", expectedCartCount);
 
-            for (HashMap<String, String> product : products) {
+            for (Map<String, String> product : products) {
                 logger.info("Testing product: {}", product.get("name"));
 
                 // Add product to cart
@@ -193,7 +193,7 @@ public class ProductDetailsTest extends BaseTest {
     /**
      * Helper method to verify product details on the Product Details Page.
      */
-    private void verifyProductDetails(ProductDetailsPage productDetailsPage, HashMap<String, String> product) {
+    private void verifyProductDetails(ProductDetailsPage productDetailsPage, Map<String, String> product) {
         assertEquals(productDetailsPage.getProductName(), product.get("name"), "Product name mismatch.");
         assertEquals(productDetailsPage.getProductDescription(), product.get("description"), "Product description mismatch.");
         assertEquals(productDetailsPage.getProductPrice(), product.get("price"), "Product price mismatch.");
@@ -0,0 +1,71 @@
+package com.saucedemo.utils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy iterator over the cartesian product of several data dimensions.
+ * Each row is built on demand, so memory stays constant regardless of the number of combinations.
+ * Rows are produced in order with the last dimension varying fastest.
+ */
+public class CartesianIterator implements Iterator<Object[]> {
+
+    private final List<? extends List<?>> dimensions;
+    private final long size;
+    private long nextIndex = 0;
+
+    /**
+     * Constructor for CartesianIterator.
+     *
+     * @param dimensions The values of each parameter position, in argument order.
+     */
+    public CartesianIterator(List<? extends List<?>> dimensions) {
+        this.dimensions = dimensions;
+        this.size = sizeOf(dimensions);
+    }
+
+    /**
+     * Returns the total number of combinations of the given dimensions.
+     *
+     * @param dimensions The values of each parameter position.
+     * @return The product of the dimension sizes.
+     */
+    public static long sizeOf(List<? extends List<?>> dimensions) {
+        long size = 1;
+        for (List<?> dimension : dimensions) {
+            size = Math.multiplyExact(size, dimension.size());
+        }
+        return size;
+    }
+
+    /**
+     * Builds the row at the given position of the cartesian product.
+     *
+     * @param dimensions The values of each parameter position.
+     * @param index      The row index, between 0 and sizeOf(dimensions) - 1.
+     * @return The row arguments.
+     */
+    public static Object[] rowAt(List<? extends List<?>> dimensions, long index) {
+        Object[] row = new Object[dimensions.size()];
+        for (int position = dimensions.size() - 1; position >= 0; position--) {
+            List<?> dimension = dimensions.get(position);
+            row[position] = dimension.get((int) (index % dimension.size()));
+            index /= dimension.size();
+        }
+        return row;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextIndex < size;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more combinations available.");
+        }
+        return rowAt(dimensions, nextIndex++);
+    }
+}
@@ -0,0 +1,426 @@
+package com.saucedemo.utils;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Static change-impact analysis of test methods, from bytecode.
+ * The call graph of a test method is built with ASM from the compiled classes of impactPackages (by default the
+ * tests, BaseTest and the page objects): it starts at the test method and at the @Before/@After methods of its
+ * class hierarchy, and follows method calls, constructor calls, lambdas and method references, and static
+ * initializers of the classes whose fields are used. Calls are resolved to the declared class or its nearest
+ * superclass that declares the method, and, as the receiver may be of any subtype, also to every override of the
+ * method in the subclasses and implementations of the declared class found under impactPackages on the class path.
+ *
+ * The changed lines reported by GitChanges are mapped to methods through the line number tables, so a test is
+ * affected only when it reaches a changed method; a change outside every method (a field, an import, a signature)
+ * affects every test that reaches the class. A change to any other file under version control, except those
+ * matching impactIgnoredFiles, has an impact that cannot be traced and selects every test.
+ */
+public class ChangeImpact {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeImpact.class);
+    private static final String CLASS_INITIALIZER = "<clinit>()V";
+
+    // Analysed classes by internal name; classes outside impactPackages or without bytecode are absent
+    private static final Map<String, Optional<ClassInfo>> classes = new ConcurrentHashMap<>();
+    private static final List<String> PACKAGES = ConfigReader.getImpactPackages().stream()
+            .map(name -> name.replace('.', '/') + "/")
+            .toList();
+    // Direct subclasses and implementations by internal name, over every analysed class on the class path
+    private static final Map<String, List<String>> SUBTYPES = indexSubtypes();
+    private static final String RUN_ALL_REASON = findRunAllReason();
+
+    /**
+     * A method of an analysed class: the source lines it spans and the methods it calls, as owner.name+descriptor keys.
+     */
+    private record MethodInfo(String name, List<GitChanges.LineRange> lines, Set<String> calls) {
+
+        boolean overlaps(GitChanges.LineRange range) {
+            return lines.stream().anyMatch(line -> range.overlaps(line.first(), line.last()));
+        }
+    }
+
+    /**
+     * An analysed class: its source file path, its superclass, its interfaces and its methods by name+descriptor.
+     */
+    private record ClassInfo(String name, String superName, List<String> interfaces, String sourcePath,
+                             Map<String, MethodInfo> methods, List<String> configurationMethods) {
+    }
+
+    /**
+     * Returns why the change impact cannot be narrowed down to some tests.
+     *
+     * @return The reason to run every test, or null if the changes can be traced.
+     */
+    public static String getRunAllReason() {
+        return RUN_ALL_REASON;
+    }
+
+    /**
+     * Returns the changes a test method reaches.
+     *
+     * @param method The test method.
+     * @return Descriptions of the changed methods or classes the test reaches, empty if it is not affected.
+     */
+    public static List<String> getAffectingChanges(ITestNGMethod method) {
+        String owner = Type.getInternalName(method.getRealClass());
+        String descriptor = Type.getMethodDescriptor(method.getConstructorOrMethod().getMethod());
+        Set<String> reached = reach(owner, method.getMethodName() + descriptor);
+
+        Map<String, Set<String>> reachedByClass = new HashMap<>();
+        for (String key : reached) {
+            int separator = key.indexOf('.');
+            reachedByClass.computeIfAbsent(key.substring(0, separator), name -> new HashSet<>()).add(key.substring(separator + 1));
+        }
+        List<String> changes = new ArrayList<>();
+        reachedByClass.forEach((className, methods) -> load(className).ifPresent(info -> {
+            List<GitChanges.LineRange> ranges = changedLines(info);
+            for (GitChanges.LineRange range : ranges) {
+                boolean inMethod = false;
+                for (MethodInfo candidate : info.methods().values()) {
+                    if (candidate.overlaps(range)) {
+                        inMethod = true;
+                        if (methods.contains(candidate.name())) {
+                            changes.add(simpleName(className) + "." + candidate.name().substring(0, candidate.name().indexOf('(')));
+                        }
+                    }
+                }
+                if (!inMethod) {
+                    changes.add(simpleName(className) + " (outside methods)");
+                }
+            }
+        }));
+        return changes.stream().distinct().sorted().toList();
+    }
+
+    /**
+     * Returns the methods reached from a test method and the configuration methods of its class hierarchy.
+     */
+    static Set<String> reach(String owner, String method) {
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(owner + "." + method);
+        for (String className = owner; className != null; ) {
+            Optional<ClassInfo> info = load(className);
+            if (info.isEmpty()) {
+                break;
+            }
+            for (String configuration : info.get().configurationMethods()) {
+                pending.add(info.get().name() + "." + configuration);
+            }
+            className = info.get().superName();
+        }
+
+        Set<String> reached = new LinkedHashSet<>();
+        while (!pending.isEmpty()) {
+            String call = pending.poll();
+            int separator = call.indexOf('.');
+            String callOwner = call.substring(0, separator);
+            String callMethod = call.substring(separator + 1);
+            List<String> targets = new ArrayList<>();
+            resolve(callOwner, callMethod).ifPresent(targets::add);
+            if (!callMethod.startsWith("<")) {
+                targets.addAll(overrides(callOwner, callMethod));
+            }
+            for (String target : targets) {
+                if (reached.add(target)) {
+                    String targetClass = target.substring(0, target.indexOf('.'));
+                    load(targetClass).ifPresent(info -> {
+                        pending.addAll(info.methods().get(target.substring(target.indexOf('.') + 1)).calls());
+                        if (info.methods().containsKey(CLASS_INITIALIZER)) {
+                            pending.add(targetClass + "." + CLASS_INITIALIZER);
+                        }
+                    });
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Resolves a call to the analysed class that declares the method, walking up the superclasses.
+     */
+    private static Optional<String> resolve(String owner, String method) {
+        for (String className = owner; className != null; ) {
+            Optional<ClassInfo> info = load(className);
+            if (info.isEmpty()) {
+                return Optional.empty();
+            }
+            if (info.get().methods().containsKey(method)) {
+                return Optional.of(className + "." + method);
+            }
+            className = info.get().superName();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the declarations of a method in the subtypes of a class, at any depth, which a call on the class
+     * may dispatch to.
+     */
+    private static List<String> overrides(String owner, String method) {
+        List<String> overrides = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> subtypes = new ArrayDeque<>(SUBTYPES.getOrDefault(owner, List.of()));
+        while (!subtypes.isEmpty()) {
+            String subtype = subtypes.poll();
+            if (!visited.add(subtype)) {
+                continue;
+            }
+            load(subtype).ifPresent(info -> {
+                if (info.methods().containsKey(method)) {
+                    overrides.add(subtype + "." + method);
+                }
+            });
+            subtypes.addAll(SUBTYPES.getOrDefault(subtype, List.of()));
+        }
+        return overrides;
+    }
+
+    private static List<GitChanges.LineRange> changedLines(ClassInfo info) {
+        if (info.sourcePath() == null) {
+            return List.of();
+        }
+        for (String file : GitChanges.getChangedFiles()) {
+            if (("/" + file).endsWith("/" + info.sourcePath())) {
+                return GitChanges.getChangedLines(file);
+            }
+        }
+        return List.of();
+    }
+
+    private static Optional<ClassInfo> load(String className) {
+        if (PACKAGES.stream().noneMatch(className::startsWith)) {
+            return Optional.empty();
+        }
+        return classes.computeIfAbsent(className, ChangeImpact::read);
+    }
+
+    private static Optional<ClassInfo> read(String className) {
+        try (InputStream bytecode = ChangeImpact.class.getClassLoader().getResourceAsStream(className + ".class")) {
+            if (bytecode == null) {
+                logger.warn("No bytecode found for {}", className);
+                return Optional.empty();
+            }
+            ClassCollector collector = new ClassCollector();
+            new ClassReader(bytecode).accept(collector, ClassReader.SKIP_FRAMES);
+            return Optional.of(collector.toClassInfo());
+        } catch (IOException e) {
+            logger.warn("Failed to read bytecode of {}: {}", className, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indexes the direct subtypes of every class of impactPackages found on the class path.
+     */
+    private static Map<String, List<String>> indexSubtypes() {
+        Map<String, List<String>> subtypes = new HashMap<>();
+        for (String className : listClasses()) {
+            load(className).ifPresent(info -> {
+                List<String> supertypes = new ArrayList<>(info.interfaces());
+                if (info.superName() != null) {
+                    supertypes.add(info.superName());
+                }
+                for (String supertype : supertypes) {
+                    subtypes.computeIfAbsent(supertype, name -> new ArrayList<>()).add(info.name());
+                }
+            });
+        }
+        return subtypes;
+    }
+
+    /**
+     * Returns the internal names of the classes of impactPackages, from class directories and jars on the class path.
+     */
+    private static Set<String> listClasses() {
+        Set<String> classNames = new TreeSet<>();
+        for (String packagePath : PACKAGES) {
+            try {
+                Enumeration<URL> roots = ChangeImpact.class.getClassLoader().getResources(packagePath);
+                while (roots.hasMoreElements()) {
+                    URL root = roots.nextElement();
+                    if ("file".equals(root.getProtocol())) {
+                        Path directory = Paths.get(root.toURI());
+                        try (Stream<Path> files = Files.walk(directory)) {
+                            files.map(file -> directory.relativize(file).toString().replace('\\', '/'))
+                                    .filter(file -> file.endsWith(".class"))
+                                    .forEach(file -> classNames.add(packagePath + file.substring(0, file.length() - ".class".length())));
+                        }
+                    } else if (root.openConnection() instanceof JarURLConnection connection) {
+                        connection.setUseCaches(false);
+                        try (JarFile jar = connection.getJarFile()) {
+                            jar.stream()
+                                    .map(JarEntry::getName)
+                                    .filter(entry -> entry.startsWith(packagePath) && entry.endsWith(".class"))
+                                    .forEach(entry -> classNames.add(entry.substring(0, entry.length() - ".class".length())));
+                        }
+                    }
+                }
+            } catch (IOException | URISyntaxException e) {
+                logger.warn("Failed to list the classes of {}: {}", packagePath, e.getMessage());
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Returns the first changed file whose impact cannot be traced, as the reason to run every test.
+     */
+    private static String findRunAllReason() {
+        if (!GitChanges.isAvailable()) {
+            return "git changes are not available";
+        }
+        List<PathMatcher> ignored = ConfigReader.getImpactIgnoredFiles().stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .toList();
+        for (String file : GitChanges.getChangedFiles()) {
+            Path path = Paths.get(file);
+            boolean analysed = file.endsWith(".java") && PACKAGES.stream().anyMatch(prefix -> ("/" + file).contains("/" + prefix));
+            if (!analysed && ignored.stream().noneMatch(matcher -> matcher.matches(path))) {
+                return file + " changed outside " + ConfigReader.getImpactPackages();
+            }
+        }
+        return null;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Collects the methods, line ranges and calls of one class.
+     */
+    private static class ClassCollector extends ClassVisitor {
+
+        private final Map<String, MethodInfo> methods = new HashMap<>();
+        private final List<String> configurationMethods = new ArrayList<>();
+        private String name;
+        private String superName;
+        private List<String> interfaces = List.of();
+        private String sourcePath;
+
+        ClassCollector() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.name = name;
+            this.superName = superName;
+            if (interfaces != null) {
+                this.interfaces = List.of(interfaces);
+            }
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            if (source != null) {
+                sourcePath = name.substring(0, name.lastIndexOf('/') + 1) + source;
+            }
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String methodName, String descriptor, String signature, String[] exceptions) {
+            String key = methodName + descriptor;
+            Set<String> calls = new LinkedHashSet<>();
+            return new MethodVisitor(Opcodes.ASM9) {
+
+                private final TreeSet<Integer> lines = new TreeSet<>();
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotation, boolean visible) {
+                    if (annotation.startsWith("Lorg/testng/annotations/Before") || annotation.startsWith("Lorg/testng/annotations/After")) {
+                        configurationMethods.add(key);
+                    }
+                    return null;
+                }
+
+                @Override
+                public void visitLineNumber(int line, Label start) {
+                    lines.add(line);
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String calledName, String calledDescriptor, boolean isInterface) {
+                    calls.add(owner + "." + calledName + calledDescriptor);
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String indyName, String indyDescriptor, Handle bootstrap, Object... arguments) {
+                    for (Object argument : arguments) {
+                        if (argument instanceof Handle handle) {
+                            calls.add(handle.getOwner() + "." + handle.getName() + handle.getDesc());
+                        }
+                    }
+                }
+
+                @Override
+                public void visitFieldInsn(int opcode, String owner, String fieldName, String fieldDescriptor) {
+                    if (!owner.equals(name)) {
+                        calls.add(owner + "." + CLASS_INITIALIZER);
+                    }
+                }
+
+                @Override
+                public void visitEnd() {
+                    methods.put(key, new MethodInfo(key, lineRanges(methodName, lines), calls));
+                }
+            };
+        }
+
+        /**
+         * Returns the span of a method, or each line of a constructor or static initializer, whose code is spread
+         * over the field initializers of the class.
+         */
+        private static List<GitChanges.LineRange> lineRanges(String methodName, TreeSet<Integer> lines) {
+            if (lines.isEmpty()) {
+                return List.of();
+            }
+            if (methodName.startsWith("<")) {
+                return lines.stream().map(line -> new GitChanges.LineRange(line, line)).toList();
+            }
+            return List.of(new GitChanges.LineRange(lines.first(), lines.last()));
+        }
+
+        ClassInfo toClassInfo() {
+            return new ClassInfo(name, superName, interfaces, sourcePath, methods, configurationMethods);
+        }
+    }
+}
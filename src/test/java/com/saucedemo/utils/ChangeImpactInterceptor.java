@@ -0,0 +1,55 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs only the test methods affected by the changes since changeBase (testSelection=impact), as found by
+ * ChangeImpact: a method is kept when its call graph reaches a changed line of a test, base or page-object class.
+ * Every method is kept when the changes cannot be traced, such as outside a git repository or after a change to a
+ * utility, a resource, the pom or a suite file.
+ */
+public class ChangeImpactInterceptor implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeImpactInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.isImpactSelection()) {
+            return methods;
+        }
+        String runAllReason = ChangeImpact.getRunAllReason();
+        if (runAllReason != null) {
+            logger.info("Running all {} test methods of {}: {}", methods.size(), context.getName(), runAllReason);
+            return methods;
+        }
+
+        Map<ITestNGMethod, List<String>> changes = new HashMap<>();
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            List<String> affecting = changes.computeIfAbsent(method, ChangeImpact::getAffectingChanges);
+            if (!affecting.isEmpty()) {
+                selected.add(instance);
+            }
+        }
+
+        changes.forEach((method, affecting) -> {
+            if (!affecting.isEmpty()) {
+                logger.info("Selected {}: reaches changed {}", method.getQualifiedName(), String.join(", ", affecting));
+            }
+        });
+        logger.info("Change impact selected {} of {} test methods of {} for changes since {}",
+                selected.size(), methods.size(), context.getName(), ConfigReader.getChangeBase());
+        return selected;
+    }
+}
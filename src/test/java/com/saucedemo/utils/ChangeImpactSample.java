@@ -0,0 +1,97 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sample call graph for ChangeImpactTest, and the checks of its resolution: a page and a subclass overriding one of
+ * its methods, and a scenario whose base class has a @BeforeMethod. Run by ChangeImpactTest in a separate JVM whose
+ * impactPackages include com.saucedemo.utils, so the sample classes are analysed. Not part of any suite.
+ */
+public class ChangeImpactSample {
+
+    private static final String SAMPLE = "com/saucedemo/utils/ChangeImpactSample$";
+
+    static class Page {
+
+        void open() {
+        }
+
+        void back() {
+        }
+
+        void submit() {
+        }
+    }
+
+    static class CheckoutPage extends Page {
+
+        @Override
+        void submit() {
+            confirm();
+        }
+
+        void confirm() {
+        }
+    }
+
+    static class Setup {
+
+        @BeforeMethod
+        void setUp() {
+            new Page().open();
+        }
+    }
+
+    static class Scenario extends Setup {
+
+        void run(Page page) {
+            page.submit();
+            new CheckoutPage().back();
+            List.of(page).forEach(item -> step());
+            Runnable finish = this::finish;
+            finish.run();
+        }
+
+        void step() {
+        }
+
+        void finish() {
+        }
+
+        void unused() {
+        }
+    }
+
+    /**
+     * Test that a call is resolved to the superclass declaring the method and to every override in the subclasses,
+     * that lambdas, method references and the configuration methods of the class hierarchy are followed, and that
+     * nothing else is reached.
+     */
+    @Test
+    public void testSampleCallGraph() {
+        Set<String> reached = ChangeImpact.reach(SAMPLE + "Scenario", "run(L" + SAMPLE + "Page;)V");
+
+        List<String> expected = List.of(
+                "Scenario.run(L" + SAMPLE + "Page;)V",
+                "Setup.setUp()V",
+                "Page.open()V",
+                "Page.submit()V",
+                "CheckoutPage.submit()V",
+                "CheckoutPage.confirm()V",
+                "Page.back()V",
+                "Scenario.step()V",
+                "Scenario.finish()V");
+        for (String method : expected) {
+            assertTrue(reached.contains(SAMPLE + method), method + " is not reached: " + reached);
+        }
+        assertFalse(reached.contains(SAMPLE + "Scenario.unused()V"), "An uncalled method is reached: " + reached);
+        assertFalse(reached.contains(SAMPLE + "CheckoutPage.back()V"), "An undeclared method is reached: " + reached);
+    }
+}
@@ -0,0 +1,59 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the call graph ChangeImpact builds from bytecode: on the tests and page objects of this project, and on
+ * ChangeImpactSample, whose overrides only exist in a separate JVM with com.saucedemo.utils in impactPackages.
+ * Does not need a browser (mvn test -Putils).
+ */
+public class ChangeImpactTest {
+
+    /**
+     * Test that a login test reaches the page object it calls, the BasePage method the page object inherits, and
+     * the driver set-up of BaseTest.
+     */
+    @Test
+    public void testLoginTestCallGraph() {
+        Set<String> reached = ChangeImpact.reach("com/saucedemo/tests/LoginTest", "testValidLogin(Ljava/util/Map;)V");
+
+        List<String> expected = List.of(
+                "com/saucedemo/pageobjects/LoginPage.login(Ljava/lang/String;Ljava/lang/String;)"
+                        + "Lcom/saucedemo/pageobjects/ProductCatalogPage;",
+                "com/saucedemo/basepage/BasePage.fillInputs(Ljava/util/List;)V",
+                "com/saucedemo/basetest/BaseTest.setUpDriver(Lorg/testng/ITestResult;)V",
+                "com/saucedemo/basetest/BaseTest.tearDownDriver(Lorg/testng/ITestResult;)V");
+        for (String method : expected) {
+            assertTrue(reached.contains(method), method + " is not reached: " + reached);
+        }
+        assertTrue(reached.stream().noneMatch(method -> method.startsWith("com/saucedemo/pageobjects/CheckoutCompletePage.")),
+                "A page the login test does not use is reached: " + reached);
+    }
+
+    /**
+     * Test the resolution of overrides, inherited methods, lambdas and method references on ChangeImpactSample.
+     */
+    @Test
+    public void testSampleCallGraph() throws IOException, InterruptedException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("ChangeImpactSuite");
+        XmlTest test = new XmlTest(suite);
+        test.setName("ChangeImpactTest");
+        test.setXmlClasses(List.of(new XmlClass(ChangeImpactSample.class)));
+        String output = ForkedTestNG.run(suite, Files.createTempDirectory("change-impact"),
+                "impactPackages=com.saucedemo.utils");
+
+        assertTrue(output.contains("Total tests run: 1, Passes: 1, Failures: 0, Skips: 0"),
+                "The sample call graph is not resolved:\n" + output);
+    }
+}
@@ -0,0 +1,110 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Circuit breaker that ends a run early when the site under test is evidently down. Off unless circuitBreaker=true.
+ * It opens when tests of a critical group (circuitBreakerGroups) have failed circuitBreakerGroupFailures times,
+ * or when at least circuitBreakerFailureRate percent of the last circuitBreakerWindow finished tests failed.
+ * Only final outcomes count: retried attempts do not.
+ *
+ * Once open, every test that has not started yet is skipped before its @BeforeMethod opens a browser, with the
+ * reason as the skip message, which TestListener logs to the test's report entry. The browsers of the tests still running are closed at once, so these tests fail
+ * immediately instead of waiting out their timeouts; Retry does not retry them.
+ */
+public class CircuitBreaker implements IInvokedMethodListener, ITestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    // Outcomes of the last circuitBreakerWindow finished tests, true for a failure
+    private static final Deque<Boolean> window = new ArrayDeque<>();
+    private static int criticalFailures = 0;
+    private static volatile String openReason;
+
+    /**
+     * Returns whether the breaker has opened.
+     *
+     * @return True once the remaining tests are being skipped.
+     */
+    public static boolean isOpen() {
+        return openReason != null;
+    }
+
+    /**
+     * Skips test methods and their @BeforeMethod once the breaker is open.
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        String reason = openReason;
+        if (reason != null && (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration())) {
+            throw new SkipException("Skipped by circuit breaker: " + reason);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        TestSession session = TestSession.of(result);
+        if (session == null || !session.isAborted()) {
+            record(result, true);
+        }
+    }
+
+    private static void record(ITestResult result, boolean failed) {
+        if (!ConfigReader.isCircuitBreakerEnabled()) {
+            return;
+        }
+        String reason = evaluate(result, failed);
+        if (reason != null) {
+            logger.error("Circuit breaker opened: {}. The remaining tests are skipped.", reason);
+            // The failing test keeps its browser until its own failure report and teardown
+            TestSession.abortAll(reason, TestSession.of(result));
+        }
+    }
+
+    /**
+     * Adds an outcome and returns the reason to open the breaker, or null if it stays closed or is already open.
+     */
+    private static synchronized String evaluate(ITestResult result, boolean failed) {
+        if (openReason != null) {
+            return null;
+        }
+        if (failed && isCritical(result)
+                && ++criticalFailures >= ConfigReader.getCircuitBreakerGroupFailures()) {
+            openReason = criticalFailures + " failures in critical groups " + ConfigReader.getCircuitBreakerGroups()
+                    + ", the last in " + result.getMethod().getQualifiedName();
+            return openReason;
+        }
+
+        int windowSize = ConfigReader.getCircuitBreakerWindow();
+        window.addLast(failed);
+        while (window.size() > windowSize) {
+            window.removeFirst();
+        }
+        int failureRate = ConfigReader.getCircuitBreakerFailureRate();
+        long failures = window.stream().filter(Boolean::booleanValue).count();
+        if (failureRate > 0 && window.size() == windowSize && failures * 100 >= (long) failureRate * windowSize) {
+            openReason = failures + " of the last " + windowSize + " tests failed";
+            return openReason;
+        }
+        return null;
+    }
+
+    private static boolean isCritical(ITestResult result) {
+        return Arrays.stream(result.getMethod().getGroups()).anyMatch(ConfigReader.getCircuitBreakerGroups()::contains);
+    }
+}
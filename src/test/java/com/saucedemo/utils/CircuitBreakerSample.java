@@ -0,0 +1,26 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.fail;
+
+/**
+ * Sample tests for CircuitBreakerTest, run in a separate JVM: two critical failures, then a test that the open
+ * breaker skips. Not part of any suite.
+ */
+public class CircuitBreakerSample {
+
+    @Test(groups = "smoke", priority = 1)
+    public void firstCriticalFailure() {
+        fail("The site is down");
+    }
+
+    @Test(groups = "smoke", priority = 2)
+    public void secondCriticalFailure() {
+        fail("The site is still down");
+    }
+
+    @Test(groups = "smoke", priority = 3)
+    public void skippedByBreaker() {
+    }
+}
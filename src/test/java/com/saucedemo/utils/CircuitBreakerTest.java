@@ -0,0 +1,72 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checks that the circuit breaker opens after the critical-group failures and skips the remaining tests with the
+ * reason in their report entries. Runs a TestNG suite with the suites' listeners in a separate JVM and does not
+ * need a browser (mvn test -Putils).
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * Test that two failures in the smoke group open the breaker, and the next test is skipped and reported with
+     * the reason.
+     */
+    @Test
+    public void testCriticalFailuresOpenBreaker() throws IOException, InterruptedException {
+        String output = runSample("circuitBreaker=true");
+        assertTrue(output.contains("Total tests run: 3, Passes: 0, Failures: 2, Skips: 1"),
+                "The breaker did not skip the test after the critical failures:\n" + output);
+    }
+
+    /**
+     * Test that the breaker is off unless enabled.
+     */
+    @Test
+    public void testBreakerIsOffByDefault() throws IOException, InterruptedException {
+        String output = runSample();
+        assertTrue(output.contains("Total tests run: 3, Passes: 1, Failures: 2, Skips: 0"),
+                "A test was skipped with the breaker off:\n" + output);
+    }
+
+    private String runSample(String... systemProperties) throws IOException, InterruptedException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("CircuitBreakerSuite");
+        suite.setListeners(List.of(TestListener.class.getName(), RetryListener.class.getName(),
+                CircuitBreaker.class.getName()));
+        XmlTest test = new XmlTest(suite);
+        test.setName("CircuitBreakerTest");
+        test.setXmlClasses(List.of(new XmlClass(CircuitBreakerSample.class)));
+        Path directory = Files.createTempDirectory("circuit-breaker-suite");
+        String output = ForkedTestNG.run(suite, directory, systemProperties);
+
+        if (systemProperties.length > 0) {
+            String report = readReports(directory.resolve("reports"));
+            assertTrue(report.contains("Skipped by circuit breaker: 2 failures in critical groups"),
+                    "The report does not give the reason of the skip.");
+        }
+        return output;
+    }
+
+    private static String readReports(Path reportDirectory) throws IOException {
+        StringBuilder reports = new StringBuilder();
+        try (Stream<Path> files = Files.list(reportDirectory)) {
+            for (Path report : files.filter(file -> file.toString().endsWith(".html")).toList()) {
+                reports.append(Files.readString(report));
+            }
+        }
+        return reports.toString();
+    }
+}
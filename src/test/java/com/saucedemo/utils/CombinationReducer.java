@@ -0,0 +1,472 @@
+package com.saucedemo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class to reduce the cartesian product of data dimensions to a smaller set of rows.
+ * Supported modes (combinationMode property, overridable per provider with combinationMode.&lt;provider&gt;):
+ * <ul>
+ *   <li>all - every combination (default)</li>
+ *   <li>pairwise - every pair of values from any two dimensions appears in at least one row</li>
+ *   <li>nwise - every tuple of combinationStrength values appears in at least one row</li>
+ *   <li>random - combinationSampleSize distinct rows sampled uniformly</li>
+ * </ul>
+ * All modes are deterministic for a given combinationSeed so failing rows can be reproduced.
+ * Pairwise and nwise only count the dimensions that vary: a dimension with a single value (such as the product list,
+ * passed whole to every row) is in every row anyway, so the strength is compared with the varying dimensions alone.
+ * With the bundled test data at most one dimension varies, so these modes run the full product.
+ * The covering-array generator scores every uncovered tuple of the touched dimensions for each candidate value, so its
+ * cost grows with the number of strength-sized tuples; it refuses inputs above combinationMaxTuples, for which the
+ * random mode is the practical choice.
+ * Dimensions may be streamed sources; they are only held in memory when a reduced mode needs random access.
+ */
+public class CombinationReducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CombinationReducer.class);
+
+    // Number of candidate rows scored for every row emitted by the covering-array generator
+    private static final int CANDIDATES_PER_ROW = 20;
+
+    /**
+     * Returns the rows to run for a provider, reduced according to its configured combination mode.
+     *
+     * @param providerName The data provider name, used to look up per-provider overrides.
+     * @param dimensions   The values of each parameter position, in argument order.
+     * @return A lazy iterator over the selected rows.
+     */
+    public static Iterator<Object[]> reduce(String providerName, List<? extends List<?>> dimensions) {
+        String mode = ConfigReader.getCombinationMode(providerName).toLowerCase();
+        long seed = ConfigReader.getCombinationSeed(providerName);
+        long total = CartesianIterator.sizeOf(dimensions);
+
+        switch (mode) {
+            case "all":
+                logger.info("Provider '{}' running all {} combinations.", providerName, total);
+                return new CartesianIterator(dimensions);
+            case "pairwise":
+                return coveringArray(providerName, dimensions, 2, seed, total);
+            case "nwise":
+                return coveringArray(providerName, dimensions, ConfigReader.getCombinationStrength(providerName), seed, total);
+            case "random":
+                int sampleSize = ConfigReader.getCombinationSampleSize(providerName);
+                logger.info("Provider '{}' sampling {} of {} combinations with seed {}.",
+                        providerName, Math.min(sampleSize, total), total, seed);
+                return new SampleIterator(dimensions, sampleSize, seed);
+            default:
+                throw new IllegalArgumentException("Unsupported combination mode '" + mode + "' for provider: " + providerName);
+        }
+    }
+
+    /**
+     * Returns the rows to run for a provider whose dimensions may be streamed from disk.
+     * In "all" mode streamed dimensions are read lazily: the leading one once, the others again for every value of
+     * the dimensions before them. Reduced modes need random access and therefore load every dimension into memory first.
+     *
+     * @param providerName     The data provider name, used to look up per-provider overrides.
+     * @param leadingDimension The values of the first parameter position, possibly streamed.
+     * @param otherDimensions  The values of the remaining parameter positions, in argument order, possibly streamed.
+     * @return A lazy iterator over the selected rows.
+     */
+    public static Iterator<Object[]> reduce(String providerName, Iterable<?> leadingDimension,
+                                            List<? extends Iterable<?>> otherDimensions) {
+        List<Iterable<?>> dimensions = new ArrayList<>();
+        dimensions.add(leadingDimension);
+        dimensions.addAll(otherDimensions);
+
+        if (dimensions.stream().anyMatch(dimension -> !(dimension instanceof List<?>))) {
+            if ("all".equalsIgnoreCase(ConfigReader.getCombinationMode(providerName))) {
+                logger.info("Provider '{}' streaming all combinations.", providerName);
+                return new StreamingCartesianIterator(dimensions);
+            }
+            logger.warn("Provider '{}' uses a reduced combination mode; loading the streamed dimensions into memory.", providerName);
+        }
+        List<List<?>> values = new ArrayList<>();
+        for (Iterable<?> dimension : dimensions) {
+            if (dimension instanceof List<?> list) {
+                values.add(list);
+            } else {
+                List<Object> loaded = new ArrayList<>();
+                dimension.forEach(loaded::add);
+                values.add(loaded);
+            }
+        }
+        return reduce(providerName, values);
+    }
+
+    /**
+     * Returns a covering-array iterator over the varying dimensions, with the single value of every other dimension
+     * filled in, or the full product when the strength covers every varying dimension.
+     */
+    private static Iterator<Object[]> coveringArray(String providerName, List<? extends List<?>> dimensions,
+                                                    int strength, long seed, long total) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("Combination strength must be at least 1, was: " + strength);
+        }
+        int[] varying = IntStream.range(0, dimensions.size()).filter(index -> dimensions.get(index).size() > 1).toArray();
+        if (strength >= varying.length || total == 0) {
+            logger.info("Provider '{}' has {} varying of {} dimensions; {}-wise coverage requires all {} combinations.",
+                    providerName, varying.length, dimensions.size(), strength, total);
+            return new CartesianIterator(dimensions);
+        }
+        List<List<?>> varyingDimensions = new ArrayList<>();
+        for (int index : varying) {
+            varyingDimensions.add(dimensions.get(index));
+        }
+        long tuples = CoveringArrayIterator.tupleCount(varyingDimensions, strength);
+        long maxTuples = ConfigReader.getCombinationMaxTuples(providerName);
+        if (tuples > maxTuples) {
+            throw new IllegalArgumentException("Provider '" + providerName + "' has " + tuples + " " + strength
+                    + "-wise tuples to cover, more than combinationMaxTuples (" + maxTuples + "); use the random mode"
+                    + " or a lower strength for data this large.");
+        }
+        logger.info("Provider '{}' generating {}-wise covering rows for {} tuples from {} combinations with seed {}.",
+                providerName, strength, tuples, total, seed);
+        Iterator<Object[]> rows = new CoveringArrayIterator(varyingDimensions, strength, seed);
+        if (varying.length == dimensions.size()) {
+            return rows;
+        }
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                Object[] reduced = rows.next();
+                Object[] row = new Object[dimensions.size()];
+                for (int index = 0; index < row.length; index++) {
+                    row[index] = dimensions.get(index).get(0);
+                }
+                for (int position = 0; position < varying.length; position++) {
+                    row[varying[position]] = reduced[position];
+                }
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Lazily yields the cartesian product of re-iterable dimensions, with the last dimension varying fastest.
+     * Only the current value of each dimension is held; a dimension is iterated again whenever one before it advances.
+     */
+    private static class StreamingCartesianIterator implements Iterator<Object[]> {
+
+        private final List<? extends Iterable<?>> dimensions;
+        private final List<Iterator<?>> iterators = new ArrayList<>();
+        private Object[] current;
+        private Object[] nextRow;
+        private boolean exhausted = false;
+
+        StreamingCartesianIterator(List<? extends Iterable<?>> dimensions) {
+            this.dimensions = dimensions;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null && !exhausted) {
+                nextRow = advance();
+                exhausted = nextRow == null;
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more combinations available.");
+            }
+            Object[] row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        private Object[] advance() {
+            if (current == null) {
+                current = new Object[dimensions.size()];
+                for (int position = 0; position < dimensions.size(); position++) {
+                    Iterator<?> values = dimensions.get(position).iterator();
+                    if (!values.hasNext()) {
+                        // No combinations: release the streams already opened on the dimensions before it
+                        for (Iterator<?> opened : iterators) {
+                            if (opened instanceof JsonReader.RecordStream stream) {
+                                stream.close();
+                            }
+                        }
+                        return null;
+                    }
+                    iterators.add(values);
+                    current[position] = values.next();
+                }
+                return current.clone();
+            }
+
+            // Advance the last dimension that has values left and restart every dimension after it
+            int position = dimensions.size() - 1;
+            while (position >= 0 && !iterators.get(position).hasNext()) {
+                position--;
+            }
+            if (position < 0) {
+                return null;
+            }
+            current[position] = iterators.get(position).next();
+            for (int restarted = position + 1; restarted < dimensions.size(); restarted++) {
+                Iterator<?> values = dimensions.get(restarted).iterator();
+                iterators.set(restarted, values);
+                current[restarted] = values.next();
+            }
+            return current.clone();
+        }
+    }
+
+    /**
+     * Lazily yields a seeded uniform sample of distinct rows, in cartesian order.
+     */
+    private static class SampleIterator implements Iterator<Object[]> {
+
+        private final List<? extends List<?>> dimensions;
+        private final Iterator<Long> indices;
+
+        SampleIterator(List<? extends List<?>> dimensions, int sampleSize, long seed) {
+            this.dimensions = dimensions;
+            long total = CartesianIterator.sizeOf(dimensions);
+            Random random = new Random(seed);
+
+            // Floyd's algorithm: sampleSize distinct indices without enumerating the whole product
+            TreeSet<Long> selected = new TreeSet<>();
+            for (long upper = total - Math.min(sampleSize, total); upper < total; upper++) {
+                long candidate = (long) (random.nextDouble() * (upper + 1));
+                if (!selected.add(candidate)) {
+                    selected.add(upper);
+                }
+            }
+            this.indices = selected.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return indices.hasNext();
+        }
+
+        @Override
+        public Object[] next() {
+            return CartesianIterator.rowAt(dimensions, indices.next());
+        }
+    }
+
+    /**
+     * Lazily yields rows until every strength-sized tuple of dimension values is covered.
+     * Each row is the best of several seeded greedy candidates (AETG style).
+     * Package-private so that CombinationReducerTest can check coverage and determinism directly.
+     */
+    static class CoveringArrayIterator implements Iterator<Object[]> {
+
+        private final List<? extends List<?>> dimensions;
+        private final int[] sizes;
+        private final Random random;
+        private final List<int[]> subsets = new ArrayList<>();
+        private final List<BitSet> uncovered = new ArrayList<>();
+        private long remaining = 0;
+
+        CoveringArrayIterator(List<? extends List<?>> dimensions, int strength, long seed) {
+            this.dimensions = dimensions;
+            this.sizes = dimensions.stream().mapToInt(List::size).toArray();
+            this.random = new Random(seed);
+            collectSubsets(new int[strength], 0, 0);
+            for (int[] subset : subsets) {
+                int tuples = Math.toIntExact(tupleCount(subset));
+                BitSet bits = new BitSet(tuples);
+                bits.set(0, tuples);
+                uncovered.add(bits);
+                remaining += tuples;
+            }
+        }
+
+        /**
+         * Returns the number of strength-sized tuples of dimension values, saturating at Long.MAX_VALUE.
+         *
+         * @param dimensions The values of each parameter position.
+         * @param strength   The number of dimensions in each tuple.
+         * @return The sum, over every set of strength dimensions, of the product of their sizes.
+         */
+        static long tupleCount(List<? extends List<?>> dimensions, int strength) {
+            // tuples[k] is the count for k-sized sets of the dimensions seen so far
+            long[] tuples = new long[strength + 1];
+            tuples[0] = 1;
+            for (List<?> dimension : dimensions) {
+                for (int k = strength; k >= 1; k--) {
+                    try {
+                        tuples[k] = Math.addExact(tuples[k], Math.multiplyExact(tuples[k - 1], dimension.size()));
+                    } catch (ArithmeticException e) {
+                        tuples[k] = Long.MAX_VALUE;
+                    }
+                }
+            }
+            return tuples[strength];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("All combinations are covered.");
+            }
+            int[] best = null;
+            int bestGain = -1;
+            for (int candidate = 0; candidate < CANDIDATES_PER_ROW; candidate++) {
+                int[] row = buildCandidate();
+                int gain = gain(row, -1);
+                if (gain > bestGain) {
+                    best = row;
+                    bestGain = gain;
+                }
+            }
+            markCovered(best);
+
+            Object[] arguments = new Object[best.length];
+            for (int position = 0; position < best.length; position++) {
+                arguments[position] = dimensions.get(position).get(best[position]);
+            }
+            return arguments;
+        }
+
+        /**
+         * Seeds a row with a random uncovered tuple, then fills the other dimensions greedily in random order.
+         */
+        private int[] buildCandidate() {
+            int[] row = new int[sizes.length];
+            Arrays.fill(row, -1);
+
+            int subsetIndex = random.nextInt(subsets.size());
+            while (uncovered.get(subsetIndex).isEmpty()) {
+                subsetIndex = (subsetIndex + 1) % subsets.size();
+            }
+            BitSet bits = uncovered.get(subsetIndex);
+            int tuple = bits.nextSetBit(random.nextInt(bits.length()));
+            if (tuple < 0) {
+                tuple = bits.nextSetBit(0);
+            }
+            decodeTuple(subsets.get(subsetIndex), tuple, row);
+
+            List<Integer> order = new ArrayList<>();
+            for (int position = 0; position < sizes.length; position++) {
+                if (row[position] < 0) {
+                    order.add(position);
+                }
+            }
+            Collections.shuffle(order, random);
+            for (int position : order) {
+                int offset = random.nextInt(sizes[position]);
+                int bestValue = offset;
+                int bestGain = -1;
+                for (int step = 0; step < sizes[position]; step++) {
+                    int value = (offset + step) % sizes[position];
+                    row[position] = value;
+                    int gain = gain(row, position);
+                    if (gain > bestGain) {
+                        bestValue = value;
+                        bestGain = gain;
+                    }
+                }
+                row[position] = bestValue;
+            }
+            return row;
+        }
+
+        /**
+         * Counts uncovered tuples fully assigned in the row; when focus is set, only tuples containing it.
+         */
+        private int gain(int[] row, int focus) {
+            int gain = 0;
+            for (int index = 0; index < subsets.size(); index++) {
+                int[] subset = subsets.get(index);
+                if (focus >= 0 && !contains(subset, focus)) {
+                    continue;
+                }
+                int tuple = encodeTuple(subset, row);
+                if (tuple >= 0 && uncovered.get(index).get(tuple)) {
+                    gain++;
+                }
+            }
+            return gain;
+        }
+
+        private void markCovered(int[] row) {
+            for (int index = 0; index < subsets.size(); index++) {
+                int tuple = encodeTuple(subsets.get(index), row);
+                BitSet bits = uncovered.get(index);
+                if (bits.get(tuple)) {
+                    bits.clear(tuple);
+                    remaining--;
+                }
+            }
+        }
+
+        private void collectSubsets(int[] current, int depth, int start) {
+            if (depth == current.length) {
+                subsets.add(current.clone());
+                return;
+            }
+            for (int position = start; position < sizes.length; position++) {
+                current[depth] = position;
+                collectSubsets(current, depth + 1, position + 1);
+            }
+        }
+
+        private long tupleCount(int[] subset) {
+            long count = 1;
+            for (int position : subset) {
+                count *= sizes[position];
+            }
+            return count;
+        }
+
+        /**
+         * Encodes the row's values at the subset positions as a tuple index, or -1 if any is unassigned.
+         */
+        private int encodeTuple(int[] subset, int[] row) {
+            int tuple = 0;
+            for (int position : subset) {
+                if (row[position] < 0) {
+                    return -1;
+                }
+                tuple = tuple * sizes[position] + row[position];
+            }
+            return tuple;
+        }
+
+        private void decodeTuple(int[] subset, int tuple, int[] row) {
+            for (int index = subset.length - 1; index >= 0; index--) {
+                int position = subset[index];
+                row[position] = tuple % sizes[position];
+                tuple /= sizes[position];
+            }
+        }
+
+        private static boolean contains(int[] subset, int position) {
+            for (int member : subset) {
+                if (member == position) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the covering-array generator behind the pairwise and nwise combination modes: every strength-sized tuple
+ * of dimension values is covered, a fixed seed always gives the same rows, and the tuple count used for the
+ * combinationMaxTuples limit is exact. Single-value dimensions are left out of the reduction, which the real
+ * providers are checked against. Runs without a browser (mvn test -Putils).
+ */
+public class CombinationReducerTest {
+
+    @DataProvider(name = "coveringArrays")
+    public static Object[][] coveringArrays() {
+        return new Object[][]{
+                {new int[]{3, 3, 3, 3}, 2},
+                {new int[]{5, 1, 4}, 2},
+                {new int[]{2, 3, 4, 2, 3}, 2},
+                {new int[]{3, 2, 3, 2}, 3},
+                {new int[]{2, 2, 2, 2, 2, 2}, 3},
+        };
+    }
+
+    /**
+     * Test that every strength-sized tuple appears in at least one row, with fewer rows than the full product.
+     */
+    @Test(dataProvider = "coveringArrays")
+    public void testEveryTupleIsCovered(int[] sizes, int strength) {
+        List<List<Integer>> dimensions = dimensions(sizes);
+        List<Object[]> rows = rows(dimensions, strength, 20240101L);
+
+        Set<List<Integer>> covered = new HashSet<>();
+        for (Object[] row : rows) {
+            for (int[] subset : subsets(sizes.length, strength)) {
+                covered.add(tuple(subset, row));
+            }
+        }
+        Set<List<Integer>> expected = new HashSet<>();
+        for (Object[] row : allRows(dimensions)) {
+            for (int[] subset : subsets(sizes.length, strength)) {
+                expected.add(tuple(subset, row));
+            }
+        }
+        assertEquals(covered, expected, "Uncovered " + strength + "-wise tuples for sizes " + Arrays.toString(sizes));
+        assertTrue(rows.size() <= CartesianIterator.sizeOf(dimensions), "More rows than the full product.");
+    }
+
+    /**
+     * Test that the same seed gives the same rows in the same order.
+     */
+    @Test(dataProvider = "coveringArrays")
+    public void testSameSeedGivesSameRows(int[] sizes, int strength) {
+        List<List<Integer>> dimensions = dimensions(sizes);
+        List<Object[]> first = rows(dimensions, strength, 7L);
+        List<Object[]> second = rows(dimensions, strength, 7L);
+
+        assertEquals(second.size(), first.size(), "Row count differs between runs with the same seed.");
+        for (int index = 0; index < first.size(); index++) {
+            assertEquals(second.get(index), first.get(index), "Row " + index + " differs between runs with the same seed.");
+        }
+    }
+
+    /**
+     * Test that the tuple count matches the tuples enumerated from the full product.
+     */
+    @Test(dataProvider = "coveringArrays")
+    public void testTupleCount(int[] sizes, int strength) {
+        List<List<Integer>> dimensions = dimensions(sizes);
+        Set<List<Integer>> tuples = new HashSet<>();
+        for (Object[] row : allRows(dimensions)) {
+            for (int[] subset : subsets(sizes.length, strength)) {
+                tuples.add(tuple(subset, row));
+            }
+        }
+        assertEquals(CombinationReducer.CoveringArrayIterator.tupleCount(dimensions, strength), tuples.size());
+    }
+
+    /**
+     * Test that a single-value dimension is filled into every row and not counted for the strength: pairwise over
+     * three varying dimensions still reduces, and over two it runs the full product.
+     */
+    @Test
+    public void testSingleValueDimensionsAreNotCounted() {
+        System.setProperty("combinationMode.threeVarying", "pairwise");
+        System.setProperty("combinationMode.twoVarying", "pairwise");
+        int[] threeVarying = {3, 1, 3, 3};
+        List<Object[]> rows = drain(CombinationReducer.reduce("threeVarying", dimensions(threeVarying)));
+
+        Set<List<Integer>> covered = new HashSet<>();
+        for (Object[] row : rows) {
+            assertEquals(row[1], 0, "The single value is missing from a row.");
+            for (int[] subset : subsets(threeVarying.length, 2)) {
+                covered.add(tuple(subset, row));
+            }
+        }
+        Set<List<Integer>> expected = new HashSet<>();
+        for (Object[] row : allRows(dimensions(threeVarying))) {
+            for (int[] subset : subsets(threeVarying.length, 2)) {
+                expected.add(tuple(subset, row));
+            }
+        }
+        assertEquals(covered, expected, "Uncovered pairs with a single-value dimension.");
+        assertTrue(rows.size() < 27, "Pairwise over three varying dimensions did not reduce: " + rows.size() + " rows.");
+
+        assertEquals(drain(CombinationReducer.reduce("twoVarying", dimensions(new int[]{4, 1, 4}))).size(), 16);
+    }
+
+    /**
+     * Test the real multi-dimension providers in pairwise mode: every row carries the whole product list, and as only
+     * the checkout details vary in the bundled data, every combination is kept.
+     */
+    @Test
+    public void testProvidersInPairwiseMode() throws IOException {
+        System.setProperty("combinationMode.validUsersWithProductsAndValidCheckoutDetails", "pairwise");
+        System.setProperty("combinationMode.validUsersWithProductsAndInvalidCheckoutDetails", "pairwise");
+        List<Map<String, String>> users = JsonReader.getJsonDataByKey("validUsers");
+        List<Map<String, String>> products = JsonReader.getJsonDataByKey("products");
+
+        assertProviderRows(DataProviderUtil.validUsersWithProductsAndValidCheckoutDetails(), users, products,
+                JsonReader.getJsonDataByKey("validCheckoutDetails"));
+        assertProviderRows(DataProviderUtil.validUsersWithProductsAndInvalidCheckoutDetails(), users, products,
+                JsonReader.getJsonDataByKey("invalidCheckoutDetails"));
+    }
+
+    private static void assertProviderRows(Iterator<Object[]> provider, List<Map<String, String>> users,
+                                           List<Map<String, String>> products, List<Map<String, String>> checkoutDetails) {
+        Set<List<Object>> rows = new HashSet<>();
+        for (Object[] row : drain(provider)) {
+            assertEquals(row[1], products, "A row does not carry the whole product list.");
+            rows.add(Arrays.asList(row));
+        }
+        Set<List<Object>> expected = new HashSet<>();
+        for (Map<String, String> user : users) {
+            for (Map<String, String> details : checkoutDetails) {
+                expected.add(List.of(user, products, details));
+            }
+        }
+        assertEquals(rows, expected);
+    }
+
+    private static List<Object[]> drain(Iterator<Object[]> rows) {
+        List<Object[]> drained = new ArrayList<>();
+        rows.forEachRemaining(drained::add);
+        return drained;
+    }
+
+    private static List<List<Integer>> dimensions(int[] sizes) {
+        List<List<Integer>> dimensions = new ArrayList<>();
+        for (int size : sizes) {
+            List<Integer> values = new ArrayList<>();
+            for (int value = 0; value < size; value++) {
+                values.add(value);
+            }
+            dimensions.add(values);
+        }
+        return dimensions;
+    }
+
+    private static List<Object[]> rows(List<List<Integer>> dimensions, int strength, long seed) {
+        List<Object[]> rows = new ArrayList<>();
+        new CombinationReducer.CoveringArrayIterator(dimensions, strength, seed).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<Object[]> allRows(List<List<Integer>> dimensions) {
+        List<Object[]> rows = new ArrayList<>();
+        new CartesianIterator(dimensions).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    /**
+     * Returns every set of strength positions, as sorted position arrays.
+     */
+    private static List<int[]> subsets(int positions, int strength) {
+        List<int[]> subsets = new ArrayList<>();
+        collect(new int[strength], 0, 0, positions, subsets);
+        return subsets;
+    }
+
+    private static void collect(int[] current, int depth, int start, int positions, List<int[]> subsets) {
+        if (depth == current.length) {
+            subsets.add(current.clone());
+            return;
+        }
+        for (int position = start; position < positions; position++) {
+            current[depth] = position;
+            collect(current, depth + 1, position + 1, positions, subsets);
+        }
+    }
+
+    /**
+     * Returns the positions and values of a row at the subset positions, e.g. [0, 2, 1, 0] for positions 0 and 1.
+     */
+    private static List<Integer> tuple(int[] subset, Object[] row) {
+        List<Integer> tuple = new ArrayList<>();
+        for (int position : subset) {
+            tuple.add(position);
+            tuple.add((Integer) row[position]);
+        }
+        return tuple;
+    }
+}
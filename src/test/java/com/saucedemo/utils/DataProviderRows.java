@@ -0,0 +1,114 @@
+package com.saucedemo.utils;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers the rows of data providers, so a test invocation can be tagged with the index of its row.
+ * TestListener wraps every data provider's rows: each row handed to TestNG is recorded with its index, under its
+ * method and its values, as TestNG passes copies of the row to the test. The index is taken back when the row's
+ * test starts, and given back when a failed attempt is retried, so only rows waiting to start are held.
+ * Identical rows of one method are numbered in the order they start.
+ */
+public class DataProviderRows {
+
+    // Result attribute holding the index of the row a test invocation runs with
+    private static final String ROW_INDEX = "dataProvider.rowIndex";
+
+    // Indexes of the rows handed out and not yet started, by method and row values
+    private static final Map<ITestNGMethod, Map<RowKey, Deque<Integer>>> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * The values of a row, compared deeply.
+     */
+    private record RowKey(Object[] values) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RowKey key && Arrays.deepEquals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(values);
+        }
+    }
+
+    /**
+     * Returns the rows of a data provider, recording the index of each row as TestNG takes it.
+     *
+     * @param rows   The rows of the data provider.
+     * @param method The test method the rows are for.
+     * @return The same rows, in the same order.
+     */
+    public static Iterator<Object[]> numbered(Iterator<Object[]> rows, ITestNGMethod method) {
+        return new Iterator<>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                Object[] row = rows.next();
+                offer(method, new RowKey(row), index++);
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Takes the index of the row a starting test runs with.
+     *
+     * @param result The starting test.
+     * @return The row index, or null if the test has no data-provider row.
+     */
+    public static Integer start(ITestResult result) {
+        Map<RowKey, Deque<Integer>> rows = waiting.get(result.getMethod());
+        if (rows == null || result.getParameters().length == 0) {
+            return null;
+        }
+        Integer index;
+        synchronized (rows) {
+            RowKey key = new RowKey(result.getParameters());
+            Deque<Integer> indexes = rows.get(key);
+            index = indexes != null ? indexes.poll() : null;
+            if (indexes != null && indexes.isEmpty()) {
+                rows.remove(key);
+            }
+        }
+        if (index != null) {
+            result.setAttribute(ROW_INDEX, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gives back the row index of a failed attempt that will be retried, for the retry to take.
+     *
+     * @param result The failed attempt.
+     */
+    public static void retry(ITestResult result) {
+        if (result.getAttribute(ROW_INDEX) instanceof Integer index) {
+            offer(result.getMethod(), new RowKey(result.getParameters()), index);
+        }
+    }
+
+    private static void offer(ITestNGMethod method, RowKey key, int index) {
+        Map<RowKey, Deque<Integer>> rows = waiting.computeIfAbsent(method, ignored -> new HashMap<>());
+        synchronized (rows) {
+            rows.computeIfAbsent(key, ignored -> new ArrayDeque<>()).add(index);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sample data-provider test for DataProviderRowsTest, run in a separate JVM: two identical rows, and a row whose
+ * first attempt fails transiently and is retried. Not part of any suite.
+ */
+public class DataProviderRowsSample {
+
+    private static final AtomicInteger bravoAttempts = new AtomicInteger();
+
+    @DataProvider(name = "sampleRows")
+    public static Object[][] sampleRows() {
+        return new Object[][]{{"alpha"}, {"bravo"}, {"alpha"}, {"charlie"}};
+    }
+
+    @Test(dataProvider = "sampleRows")
+    public void rowSample(String value) {
+        if ("bravo".equals(value) && bravoAttempts.incrementAndGet() == 1) {
+            throw new TimeoutException("Synthetic transient failure");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Checks the row numbering of data providers, from the row attribute of the timing lines of a DataProviderRowsSample
+ * run. The sample runs in a separate JVM in a temporary directory; does not need a browser (mvn test -Putils).
+ */
+public class DataProviderRowsTest {
+
+    private static final Pattern ROW = Pattern.compile("\"kind\":\"(\\w+)\".*\"row\":\"(\\d+)\"");
+
+    /**
+     * Test that every row is tagged with its index, identical rows in the order they start, and that a retried row
+     * keeps the index of its failed attempt.
+     */
+    @Test
+    public void testRowsAreNumbered() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("data-provider-rows");
+        XmlSuite suite = new XmlSuite();
+        suite.setName("DataProviderRowsSuite");
+        suite.setListeners(List.of(TestListener.class.getName(), RetryListener.class.getName()));
+        XmlTest test = new XmlTest(suite);
+        test.setName("DataProviderRowsTest");
+        test.setXmlClasses(List.of(new XmlClass(DataProviderRowsSample.class)));
+        String output = ForkedTestNG.run(suite, directory);
+        assertTrue(output.contains("Total tests run: 5, Passes: 4, Failures: 0, Skips: 0, Retries: 1"),
+                "The sample did not run every row:\n" + output);
+
+        List<String> rows = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory.resolve("reports"))) {
+            for (Path file : files.filter(path -> path.getFileName().toString().startsWith("timings_")).toList()) {
+                for (String line : Files.readAllLines(file)) {
+                    Matcher row = ROW.matcher(line);
+                    if (line.contains("\"method\":\"rowSample\"") && row.find()) {
+                        rows.add(row.group(1) + " " + row.group(2));
+                    }
+                }
+            }
+        }
+        assertEquals(rows, List.of("test 0", "retry 1", "test 1", "test 2", "test 3"));
+    }
+}
@@ -1,10 +1,11 @@
 package com.saucedemo.utils;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,124 +13,177 @@ import org.testng.annotations.DataProvider;
 
 /**
  * Utility class for providing test data using TestNG DataProviders.
+ * Providers return lazy iterators so rows are created on demand instead of up front,
+ * and are parallel so rows of the same method run concurrently on the data-provider thread pool
+ * (sized by the dataProviderThreadCount property, see ParallelSuiteListener).
+ * With testDataStreaming enabled, records are streamed from disk and rows run sequentially, so very large generated
+ * datasets can be consumed. A key combined with every user record is held in memory only up to
+ * testDataStreamingBufferRecords records, and streamed again for each user beyond that.
  */
 public class DataProviderUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(DataProviderUtil.class);
-    private static final Map<String, List<HashMap<String, String>>> cachedData = new ConcurrentHashMap<>();
 
     /**
-     * Retrieves and caches data by key.
+     * Retrieves data by key from the shared, parse-once dataset.
+     * In streaming mode only the requested key is read, so the rest of the dataset never enters memory.
+     * Only used for products, which tests receive as a single list argument.
      *
      * @param key The key to retrieve data for.
-     * @return The cached data as a list of HashMaps.
+     * @return The data as an immutable list of immutable maps.
      * @throws IOException If an error occurs while reading the data.
      */
-    private static List<HashMap<String, String>> getCachedData(String key) throws IOException {
+    private static List<Map<String, String>> getCachedData(String key) throws IOException {
         try {
-            if (!cachedData.containsKey(key)) {
-                logger.info("Loading data for key: {}", key);
-                cachedData.put(key, JsonReader.getJsonDataByKey(key));
+            if (ConfigReader.isTestDataStreaming()) {
+                List<Map<String, String>> records = new ArrayList<>();
+                try (JsonReader.RecordStream stream = JsonReader.openJsonDataByKey(key)) {
+                    stream.forEachRemaining(records::add);
+                }
+                return List.copyOf(records);
             }
-            return cachedData.get(key);
+            return JsonReader.getJsonDataByKey(key);
         } catch (IOException e) {
             logger.error("Error loading data for key: {}", key, e);
             throw e;
         }
     }
 
+    /**
+     * Retrieves data by key as a source that may be streamed from disk.
+     *
+     * @param key The key to retrieve data for.
+     * @return The streamed records in streaming mode, otherwise the cached data.
+     * @throws IOException If an error occurs while reading the data.
+     */
+    private static Iterable<Map<String, String>> getRecords(String key) throws IOException {
+        if (ConfigReader.isTestDataStreaming()) {
+            logger.info("Streaming data for key: {}", key);
+            return JsonReader.streamJsonDataByKey(key);
+        }
+        return getCachedData(key);
+    }
+
+    /**
+     * Retrieves data by key for a dimension that is combined with every streamed user record, so it is iterated once
+     * per user. In streaming mode it is buffered in memory if it has at most testDataStreamingBufferRecords records,
+     * and otherwise streamed from disk again on every iteration.
+     *
+     * @param key The key to retrieve data for.
+     * @return A list when held in memory, otherwise a re-iterable stream.
+     * @throws IOException If an error occurs while reading the data.
+     */
+    private static Iterable<Map<String, String>> getCombinedRecords(String key) throws IOException {
+        if (!ConfigReader.isTestDataStreaming()) {
+            return getCachedData(key);
+        }
+        int limit = ConfigReader.getTestDataStreamingBufferRecords();
+        Iterable<Map<String, String>> streamed = JsonReader.streamJsonDataByKey(key);
+        List<Map<String, String>> buffered = new ArrayList<>();
+        long count = 0;
+        try (JsonReader.RecordStream stream = JsonReader.openJsonDataByKey(key)) {
+            // Read to the end even past the limit, to count the records
+            while (stream.hasNext()) {
+                Map<String, String> record = stream.next();
+                if (++count <= limit) {
+                    buffered.add(record);
+                }
+            }
+        }
+        if (count > limit) {
+            logger.info("Key {} has {} records, more than testDataStreamingBufferRecords ({}); streaming it for every user.",
+                    key, count, limit);
+            return streamed;
+        }
+        return List.copyOf(buffered);
+    }
+
     /**
      * Provides valid users data.
      */
-    @DataProvider(name = "validUsers")
-    public static Object[][] validUsers() throws IOException {
-        return convertToDataProvider(getCachedData("validUsers"));
+    @DataProvider(name = "validUsers", parallel = true)
+    public static Iterator<Object[]> validUsers() throws IOException {
+        return convertToDataProvider(getRecords("validUsers"));
     }
 
     /**
      * Provides invalid users data.
      */
-    @DataProvider(name = "invalidUsers")
-    public static Object[][] invalidUsers() throws IOException {
-        return convertToDataProvider(getCachedData("invalidUsers"));
+    @DataProvider(name = "invalidUsers", parallel = true)
+    public static Iterator<Object[]> invalidUsers() throws IOException {
+        return convertToDataProvider(getRecords("invalidUsers"));
     }
 
     /**
      * Provides products data.
      */
-    @DataProvider(name = "products")
-    public static Object[][] products() throws IOException {
-        return convertToDataProvider(getCachedData("products"));
+    @DataProvider(name = "products", parallel = true)
+    public static Iterator<Object[]> products() throws IOException {
+        return convertToDataProvider(getRecords("products"));
     }
 
     /**
      * Provides valid checkout details data.
      */
-    @DataProvider(name = "validCheckoutDetails")
-    public static Object[][] validCheckoutDetails() throws IOException {
-        return convertToDataProvider(getCachedData("validCheckoutDetails"));
+    @DataProvider(name = "validCheckoutDetails", parallel = true)
+    public static Iterator<Object[]> validCheckoutDetails() throws IOException {
+        return convertToDataProvider(getRecords("validCheckoutDetails"));
     }
 
     /**
      * Provides invalid checkout details data.
      */
-    @DataProvider(name = "invalidCheckoutDetails")
-    public static Object[][] invalidCheckoutDetails() throws IOException {
-        return convertToDataProvider(getCachedData("invalidCheckoutDetails"));
+    @DataProvider(name = "invalidCheckoutDetails", parallel = true)
+    public static Iterator<Object[]> invalidCheckoutDetails() throws IOException {
+        return convertToDataProvider(getRecords("invalidCheckoutDetails"));
     }
 
     /**
      * Provides valid users with products data.
      */
-    @DataProvider(name = "validUsersWithProducts")
-    public static Object[][] validUsersWithProducts() throws IOException {
-        List<HashMap<String, String>> users = getCachedData("validUsers");
-        List<HashMap<String, String>> products = getCachedData("products");
-
-        return users.stream()
-                .map(user -> new Object[]{user, products})
-                .toArray(Object[][]::new);
+    @DataProvider(name = "validUsersWithProducts", parallel = true)
+    public static Iterator<Object[]> validUsersWithProducts() throws IOException {
+        Iterable<Map<String, String>> users = getRecords("validUsers");
+        List<Map<String, String>> products = getCachedData("products");
+
+        return CombinationReducer.reduce("validUsersWithProducts", users, List.of(List.of(products)));
     }
 
     /**
      * Provides valid users with products and valid checkout details data.
      */
-    @DataProvider(name = "validUsersWithProductsAndValidCheckoutDetails")
-    public static Object[][] validUsersWithProductsAndValidCheckoutDetails() throws IOException {
-        List<HashMap<String, String>> users = getCachedData("validUsers");
-        List<HashMap<String, String>> products = getCachedData("products");
-        List<HashMap<String, String>> validCheckoutDetails = getCachedData("validCheckoutDetails");
-
-        return users.stream()
-                .flatMap(user -> validCheckoutDetails.stream()
-                        .map(checkoutDetail -> new Object[]{user, products, checkoutDetail}))
-                .toArray(Object[][]::new);
+    @DataProvider(name = "validUsersWithProductsAndValidCheckoutDetails", parallel = true)
+    public static Iterator<Object[]> validUsersWithProductsAndValidCheckoutDetails() throws IOException {
+        Iterable<Map<String, String>> users = getRecords("validUsers");
+        List<Map<String, String>> products = getCachedData("products");
+        Iterable<Map<String, String>> validCheckoutDetails = getCombinedRecords("validCheckoutDetails");
+
+        return CombinationReducer.reduce("validUsersWithProductsAndValidCheckoutDetails",
+                users, List.of(List.of(products), validCheckoutDetails));
     }
 
     /**
      * Provides valid users with products and invalid checkout details data.
      */
-    @DataProvider(name = "validUsersWithProductsAndInvalidCheckoutDetails")
-    public static Object[][] validUsersWithProductsAndInvalidCheckoutDetails() throws IOException {
-        List<HashMap<String, String>> users = getCachedData("validUsers");
-        List<HashMap<String, String>> products = getCachedData("products");
-        List<HashMap<String, String>> invalidCheckoutDetails = getCachedData("invalidCheckoutDetails");
-
-        return users.stream()
-                .flatMap(user -> invalidCheckoutDetails.stream()
-                        .map(checkoutDetail -> new Object[]{user, products, checkoutDetail}))
-                .toArray(Object[][]::new);
+    @DataProvider(name = "validUsersWithProductsAndInvalidCheckoutDetails", parallel = true)
+    public static Iterator<Object[]> validUsersWithProductsAndInvalidCheckoutDetails() throws IOException {
+        Iterable<Map<String, String>> users = getRecords("validUsers");
+        List<Map<String, String>> products = getCachedData("products");
+        Iterable<Map<String, String>> invalidCheckoutDetails = getCombinedRecords("invalidCheckoutDetails");
+
+        return CombinationReducer.reduce("validUsersWithProductsAndInvalidCheckoutDetails",
+                users, List.of(List.of(products), invalidCheckoutDetails));
     }
 
     /**
-     * Converts a list of data to a TestNG DataProvider format.
+     * Converts data to a lazy TestNG DataProvider source.
      *
-     * @param dataList The list of data to convert.
-     * @return The data in DataProvider format.
+     * @param data The data to convert, in memory or streamed.
+     * @return An iterator that builds each row on demand.
      */
-    private static Object[][] convertToDataProvider(List<HashMap<String, String>> dataList) {
-        return dataList.stream()
-                .map(data -> new Object[]{data})
-                .toArray(Object[][]::new);
+    private static Iterator<Object[]> convertToDataProvider(Iterable<Map<String, String>> data) {
+        return StreamSupport.stream(data.spliterator(), false)
+                .map(record -> new Object[]{record})
+                .iterator();
     }
 }
@@ -0,0 +1,129 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-method duration history kept across runs in a local JSON file (durationHistoryPath).
+ * Every run adds up the time spent in each test method, over all its data-provider rows and retries, and
+ * blends it into the stored value as a moving average. Methods without history get a static estimate:
+ * durationEstimateMillis, or durationEstimateDataProviderMillis for data-driven methods.
+ * A shard of a sharded run saves the history to its own directory; ShardMerger folds the shards' histories back
+ * into durationHistoryPath.
+ */
+public class DurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, Long> history = load();
+
+    // Milliseconds spent per method in this run
+    private static final Map<String, Long> runDurations = new ConcurrentHashMap<>();
+
+    private static Map<String, Long> load() {
+        return read(Paths.get(ConfigReader.getDurationHistoryPath()));
+    }
+
+    private static Map<String, Long> read(Path path) {
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        if (Files.exists(path)) {
+            try {
+                loaded.putAll(MAPPER.readValue(path.toFile(), new TypeReference<Map<String, Long>>() {
+                }));
+                logger.info("Loaded duration history of {} methods from {}", loaded.size(), path);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable duration history {}: {}", path, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the expected time of a test method over all its invocations.
+     *
+     * @param method The test method.
+     * @return The duration from history, or the static estimate if the method has none.
+     */
+    public static long estimateMillis(ITestNGMethod method) {
+        Long recorded = history.get(method.getQualifiedName());
+        if (recorded != null) {
+            return recorded;
+        }
+        return method.isDataDriven() ? ConfigReader.getDurationEstimateDataProviderMillis() : ConfigReader.getDurationEstimateMillis();
+    }
+
+    /**
+     * Returns whether the method's estimate comes from an earlier run.
+     *
+     * @param method The test method.
+     * @return True if the method has recorded history.
+     */
+    public static boolean hasHistory(ITestNGMethod method) {
+        return history.containsKey(method.getQualifiedName());
+    }
+
+    /**
+     * Adds the duration of one invocation to the method's total for this run.
+     *
+     * @param method        The test method.
+     * @param durationNanos The duration of the invocation.
+     */
+    public static void record(ITestNGMethod method, long durationNanos) {
+        runDurations.merge(method.getQualifiedName(), TimeUnit.NANOSECONDS.toMillis(durationNanos), Long::sum);
+    }
+
+    /**
+     * Takes over the methods each shard has updated. Every method runs in a single shard, so at most one shard
+     * differs from the history for any method.
+     *
+     * @param shardHistories The duration history files saved by the shards.
+     */
+    public static synchronized void mergeShards(List<Path> shardHistories) {
+        Map<String, Long> baseline = new HashMap<>(history);
+        for (Path shardHistory : shardHistories) {
+            read(shardHistory).forEach((method, millis) -> {
+                if (!millis.equals(baseline.get(method))) {
+                    history.put(method, millis);
+                }
+            });
+        }
+    }
+
+    /**
+     * Blends this run's totals into the history and writes it back to durationHistoryPath, or to the shard's
+     * directory in a sharded run. Only methods that ran are updated, so a run of a single suite keeps the
+     * history of the others.
+     */
+    public static synchronized void save() {
+        runDurations.forEach((method, millis) -> history.merge(method, millis, (previous, current) -> (previous + current) / 2));
+        runDurations.clear();
+        Path path = Paths.get(ConfigReader.getDurationHistoryPath());
+        if (ConfigReader.isSharded()) {
+            path = Paths.get(ConfigReader.getShardDirectory()).resolve(path.getFileName());
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), new TreeMap<>(history));
+            logger.info("Duration history of {} methods saved to {}", history.size(), path);
+        } catch (IOException e) {
+            logger.error("Failed to save duration history: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,75 +1,148 @@
 package com.saucedemo.utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.openqa.selenium.WebDriver;
 
 /**
  * ExtentReportManager is a utility class for managing ExtentReports in a thread-safe manner.
- * It provides methods to initialize the report, log messages, attach screenshots, and close the report.
+ * It provides methods to start tests, log messages, attach screenshots, and close the report.
+ *
+ * Test threads never touch the Extent model: every call publishes an immutable ReportEvent onto a
+ * lock-free queue and returns. A single writer thread applies the events, in order, to the
+ * ExtentReportSink and any other registered sinks, so no lock is held on test threads.
+ * The report state of a test (its report test and the spans recorded during its setup) is owned by the
+ * invocation's TestSession, so parallel methods and parallel data-provider rows each report to their own test.
  */
 public class ExtentReportManager {
 
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
-    private static ExtentSparkReporter sparkReporter;
     private static final Logger logger = LoggerFactory.getLogger(ExtentReportManager.class);
+    private static final ReportEventPipeline pipeline = new ReportEventPipeline("extent-report-writer");
+    private static final AtomicLong testIds = new AtomicLong();
 
-    /**
-     * Initializes and returns the ExtentReports instance (singleton with thread safety).
-     */
-    public static ExtentReports getExtentReports() {
-        if (extent == null) {
-            synchronized (ExtentReportManager.class) {
-                if (extent == null) {
-                    try {
-                        logger.info("Initializing ExtentReports...");
-                        String reportFolderPath = ConfigReader.getReportPath();
-                        String reportFileName = reportFolderPath + "/ExtentReport_" + getCurrentDateTime() + ".html";
-                        sparkReporter = new ExtentSparkReporter(reportFileName);
-                        sparkReporter.config().setReportName("SauceDemo Automation Test Report");
-                        sparkReporter.config().setDocumentTitle("Automation Test Results");
-                        extent = new ExtentReports();
-                        extent.attachReporter(sparkReporter);
-                    } catch (Exception e) {
-                        logger.error("Failed to initialize ExtentReports: {}", e.getMessage(), e);
-                        throw new RuntimeException("Failed to initialize ExtentReports", e);
-                    }
-                }
-            }
+    static {
+        pipeline.addSink(new ExtentReportSink());
+        if (ConfigReader.isTimingStreamEnabled()) {
+            pipeline.addSink(new TimingReportSink());
         }
-        return extent;
     }
 
     /**
-     * Starts a new test in the ExtentReports instance.
+     * Registers an additional sink that receives every report event.
+     */
+    public static void addSink(ReportSink sink) {
+        pipeline.addSink(sink);
+    }
+
+    /**
+     * Starts a new test in the report.
      */
     public static void startTest(String testName, String description) {
-        try {
-            String uniqueId = "_" + Thread.currentThread().threadId();
-            String uniqueTestName = testName + uniqueId;
-
-            ExtentTest test = getExtentReports().createTest(uniqueTestName, description);
-            extentTest.set(test); // Set the ExtentTest instance for the current thread
-            logger.info("Started test: {} on thread: {}", uniqueTestName, Thread.currentThread().threadId());
-        } catch (Exception e) {
-            logger.error("Failed to start test: {}", e.getMessage(), e);
+        startTest(testName, description, Map.of());
+    }
+
+    /**
+     * Starts a new test in the report, tagged with attributes that identify the invocation
+     * (for example its data-provider row). Spans recorded during the preceding setup are attributed to it.
+     */
+    public static void startTest(String testName, String description, Map<String, String> attributes) {
+        String uniqueId = "_" + Thread.currentThread().threadId();
+        String uniqueTestName = testName + uniqueId;
+
+        long testId = testIds.incrementAndGet();
+        pipeline.publish(new ReportEvent.TestStarted(testId, uniqueTestName, description,
+                Collections.unmodifiableMap(new LinkedHashMap<>(attributes))));
+        TestSession session = TestSession.current();
+        if (session == null) {
+            logger.warn("Test {} started without a test session; its log entries are not reported.", uniqueTestName);
+            return;
+        }
+        session.setReportTestId(testId);
+        session.setReportEnded(false);
+        for (ReportEvent.SpanRecorded span : session.getSetupSpans()) {
+            pipeline.publish(new ReportEvent.SpanRecorded(testId, span.kind(), span.name(),
+                    span.startNanos(), span.endNanos(), span.attributes()));
         }
+        session.getSetupSpans().clear();
+        logger.info("Started test: {} on thread: {}", uniqueTestName, Thread.currentThread().threadId());
+    }
+
+    /**
+     * Marks the current test as finished.
+     */
+    public static void endTest() {
+        Long testId = currentTestId();
+        if (testId != null) {
+            TestSession.current().setReportEnded(true);
+            pipeline.publish(new ReportEvent.TestEnded(testId));
+        }
+    }
+
+    /**
+     * Returns the report test of the current session while it is running.
+     */
+    private static Long currentTestId() {
+        TestSession session = TestSession.current();
+        return session != null && !session.isReportEnded() ? session.getReportTestId() : null;
+    }
+
+    /**
+     * Marks the start of a test's setup on the current thread: the thread lets go of the session it served
+     * before. Spans recorded by the new session until its test starts are held back and attributed to it.
+     */
+    public static void beginSetup() {
+        TestSession previous = TestSession.current();
+        if (previous != null && previous.getReportTestId() == null) {
+            // The previous setup never reached a test, e.g. because it failed
+            previous.getSetupSpans().forEach(pipeline::publish);
+            previous.getSetupSpans().clear();
+        }
+        TestSession.release();
+    }
+
+    /**
+     * Records a timed span for the current test: the running test, the test being set up,
+     * or the test just finished (for teardown).
+     *
+     * @param kind       The span kind, such as setup, teardown, test, retry or step.
+     * @param name       The span name.
+     * @param startNanos Start time from System.nanoTime.
+     * @param endNanos   End time from System.nanoTime.
+     * @param attributes Additional attributes written with the span.
+     */
+    public static void recordSpan(String kind, String name, long startNanos, long endNanos, Map<String, String> attributes) {
+        TestSession session = TestSession.current();
+        Long testId = session != null ? session.getReportTestId() : null;
+        ReportEvent.SpanRecorded span = new ReportEvent.SpanRecorded(testId != null ? testId : 0L, kind, name,
+                startNanos, endNanos, Map.copyOf(attributes));
+        if (session != null && testId == null) {
+            session.getSetupSpans().add(span);
+        } else {
+            pipeline.publish(span);
+        }
+    }
+
+    /**
+     * Records a timed span that does not belong to a single test, such as class or suite configuration.
+     */
+    public static void recordGlobalSpan(String kind, String name, long startNanos, long endNanos, Map<String, String> attributes) {
+        pipeline.publish(new ReportEvent.SpanRecorded(0L, kind, name, startNanos, endNanos, Map.copyOf(attributes)));
     }
 
     /**
      * Logs an informational message to the report and console.
      */
     public static void logInfo(String message) {
-        if (extentTest.get() != null) {
-            extentTest.get().log(Status.INFO, message);
-        }
+        log(Status.INFO, message);
         logger.info(message);
     }
 
@@ -77,9 +150,7 @@ public class ExtentReportManager {
      * Logs a failure message to the report and console.
      */
     public static void logFailure(String message) {
-        if (extentTest.get() != null) {
-            extentTest.get().log(Status.FAIL, message);
-        }
+        log(Status.FAIL, message);
         logger.error(message);
     }
 
@@ -87,28 +158,32 @@ public class ExtentReportManager {
      * Logs a success message to the report and console.
      */
     public static void logPass(String message) {
-        if (extentTest.get() != null) {
-            extentTest.get().log(Status.PASS, message);
-        }
+        log(Status.PASS, message);
         logger.info(message);
     }
-    
+
     /**
 	 * Logs a warning message to the report and console.
 	 */
     public static void logSkip(String message) {
-        if (extentTest.get() != null) {
-            extentTest.get().log(Status.SKIP, message);
-        }
+        log(Status.SKIP, message);
         logger.warn(message);
     }
 
+    private static void log(Status status, String message) {
+        Long testId = currentTestId();
+        if (testId != null) {
+            pipeline.publish(new ReportEvent.MessageLogged(testId, status, message));
+        }
+    }
+
     /**
      * Logs an exception to the report and console.
      */
     public static void logException(Throwable e) {
-        if (extentTest.get() != null) {
-            extentTest.get().fail(e);
+        Long testId = currentTestId();
+        if (testId != null) {
+            pipeline.publish(new ReportEvent.ExceptionLogged(testId, e));
         }
         logger.error("Exception occurred: ", e);
     }
@@ -117,22 +192,34 @@ public class ExtentReportManager {
      * Captures and attaches a screenshot to the report.
      */
     public static void logScreenshot(WebDriver driver, String screenshotName) {
-        if (extentTest.get() != null && driver != null) {
+        Long testId = currentTestId();
+        if (testId != null && driver != null) {
             try {
                 String screenshotPath = ScreenshotUtil.captureScreenshot(driver, screenshotName);
-                extentTest.get().addScreenCaptureFromPath(screenshotPath);
+                pipeline.publish(new ReportEvent.ScreenshotAttached(testId, screenshotPath));
             } catch (Exception e) {
                 logger.error("Failed to attach screenshot: {}", e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * Attaches an image file that was already saved, such as a screencast, to the report.
+     */
+    public static void attachScreenshot(String screenshotPath) {
+        Long testId = currentTestId();
+        if (testId != null && screenshotPath != null) {
+            pipeline.publish(new ReportEvent.ScreenshotAttached(testId, screenshotPath));
+        }
+    }
+
     /**
      * Adds a category to the current test.
      */
     public static void addCategory(String category) {
-        if (extentTest.get() != null) {
-            extentTest.get().assignCategory(category);
+        Long testId = currentTestId();
+        if (testId != null) {
+            pipeline.publish(new ReportEvent.CategoryAssigned(testId, category));
         }
     }
 
@@ -140,31 +227,46 @@ public class ExtentReportManager {
      * Adds browser information to the current test.
      */
     public static void addBrowserInfo(String browser) {
-        if (extentTest.get() != null) {
-            extentTest.get().assignDevice(browser);
+        Long testId = currentTestId();
+        if (testId != null) {
+            pipeline.publish(new ReportEvent.BrowserAssigned(testId, browser));
         }
     }
 
     /**
-     * Closes the ExtentReports instance and flushes the report.
+     * Closes the report: waits up to reportCloseTimeoutSeconds until the writer thread has applied every event
+     * published so far and every sink has written its output. On timeout the events still queued are discarded
+     * and logged, so a stuck sink cannot hang the end of the run. The number of events dropped during the run,
+     * because the queue stayed full or the close timed out, is logged.
      */
-    public static synchronized void closeReporter() {
+    public static void closeReporter() {
+        CountDownLatch done = new CountDownLatch(1);
+        pipeline.publish(new ReportEvent.ReportClosed(done));
         try {
-            if (extent != null) {
-                extent.flush();
-                extent = null; // Reset extent to ensure proper reinitialization
+            int timeoutSeconds = ConfigReader.getReportCloseTimeoutSeconds();
+            if (!done.await(timeoutSeconds, TimeUnit.SECONDS)) {
+                logDropped(pipeline.discardQueued(), timeoutSeconds);
             }
-            extentTest.remove();
-        } catch (Exception e) {
-            logger.error("Failed to close ExtentReports: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while closing ExtentReports: {}", e.getMessage(), e);
+        }
+        long dropped = pipeline.takeDroppedEvents();
+        if (dropped > 0) {
+            logger.error("{} report events were dropped in this run; the report is incomplete.", dropped);
         }
+        TestSession.release();
     }
 
     /**
-     * Returns the current date and time in a specific format.
+     * Logs the events discarded after the writer thread missed the close timeout, counted by event type.
      */
-    private static String getCurrentDateTime() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
-        return sdf.format(new Date());
+    private static void logDropped(List<ReportEvent> dropped, int timeoutSeconds) {
+        Map<String, Integer> countsByType = new TreeMap<>();
+        for (ReportEvent event : dropped) {
+            countsByType.merge(event.getClass().getSimpleName(), 1, Integer::sum);
+        }
+        logger.error("Report writer did not finish within {} s; dropped {} queued report events {}",
+                timeoutSeconds, dropped.size(), countsByType);
     }
 }
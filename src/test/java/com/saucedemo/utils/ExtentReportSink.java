@@ -0,0 +1,244 @@
+package com.saucedemo.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Report sink that writes events to the ExtentReports HTML report.
+ * It runs on the report writer thread only, so the Extent model is never mutated concurrently.
+ *
+ * The report is written incrementally: it is flushed every reportFlushEveryTests finished tests or
+ * reportFlushIntervalSeconds, so a crash still leaves a report on disk. Tests are grouped into segments of
+ * reportSegmentSize tests, each written to its own file; once every test of a full segment has finished,
+ * the segment is flushed a final time and evicted from memory. A segment size of 0 keeps a single report.
+ * Every flush re-renders the open segments, so a flush due after a number of tests is deferred until the writer
+ * has spent at least (100 / reportFlushMaxPercent) times the duration of the previous flush on other work; this
+ * keeps incremental flushing to about reportFlushMaxPercent of the writer's time when tests finish quickly.
+ * In a sharded run every segment is also archived as JSON next to its HTML file, for ShardMerger.
+ */
+public class ExtentReportSink implements ReportSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtentReportSink.class);
+
+    private final String reportPath;
+    private final int segmentSize;
+    private final int flushEveryTests;
+    private final long flushIntervalNanos;
+    private final int flushMaxPercent;
+    private final Map<Long, ExtentTest> tests = new HashMap<>();
+    private final Map<Long, ReportSegment> testSegments = new HashMap<>();
+    private final List<ReportSegment> openSegments = new ArrayList<>();
+    private ReportSegment currentSegment;
+    private String runTimestamp;
+    private int segmentCount = 0;
+    private int finishedSinceFlush = 0;
+    private long lastFlushNanos = System.nanoTime();
+    private long lastFlushDurationNanos = 0;
+
+    /**
+     * A group of tests written to one report file.
+     */
+    private static class ReportSegment {
+
+        private final ExtentReports reports;
+        private final String reportFileName;
+        private int startedTests = 0;
+        private int finishedTests = 0;
+        private boolean sealed = false;
+
+        ReportSegment(ExtentReports reports, String reportFileName) {
+            this.reports = reports;
+            this.reportFileName = reportFileName;
+        }
+
+        boolean isComplete() {
+            return sealed && finishedTests == startedTests;
+        }
+    }
+
+    /**
+     * Constructor for ExtentReportSink, configured from config.properties.
+     */
+    public ExtentReportSink() {
+        this(ConfigReader.getReportPath(), ConfigReader.getReportSegmentSize(), ConfigReader.getReportFlushEveryTests(),
+                ConfigReader.getReportFlushIntervalSeconds(), ConfigReader.getReportFlushMaxPercent());
+    }
+
+    /**
+     * Constructor for ExtentReportSink with explicit settings, as used by ReportBenchmark.
+     *
+     * @param reportPath           The directory of the report files.
+     * @param segmentSize          Tests per report file, 0 for a single report.
+     * @param flushEveryTests      Finished tests between flushes, 0 to disable.
+     * @param flushIntervalSeconds Seconds between flushes, 0 to disable.
+     * @param flushMaxPercent      Share of the writer's time incremental flushes may take, 100 to never defer them.
+     */
+    ExtentReportSink(String reportPath, int segmentSize, int flushEveryTests, int flushIntervalSeconds, int flushMaxPercent) {
+        this.reportPath = reportPath;
+        this.segmentSize = segmentSize;
+        this.flushEveryTests = flushEveryTests;
+        this.flushIntervalNanos = TimeUnit.SECONDS.toNanos(flushIntervalSeconds);
+        this.flushMaxPercent = Math.max(1, Math.min(100, flushMaxPercent));
+    }
+
+    @Override
+    public void accept(ReportEvent event) {
+        switch (event) {
+            case ReportEvent.TestStarted started -> startTest(started);
+            case ReportEvent.MessageLogged logged -> withTest(logged.testId(), test -> test.log(logged.status(), logged.message()));
+            case ReportEvent.ExceptionLogged logged -> withTest(logged.testId(), test -> test.fail(logged.throwable()));
+            case ReportEvent.ScreenshotAttached attached -> withTest(attached.testId(), test -> test.addScreenCaptureFromPath(attached.screenshotPath()));
+            case ReportEvent.CategoryAssigned assigned -> withTest(assigned.testId(), test -> test.assignCategory(assigned.category()));
+            case ReportEvent.BrowserAssigned assigned -> withTest(assigned.testId(), test -> test.assignDevice(assigned.browser()));
+            case ReportEvent.TestEnded ended -> endTest(ended.testId());
+            case ReportEvent.SpanRecorded ignored -> {
+                // Timings are not part of the HTML report
+            }
+            case ReportEvent.ReportClosed ignored -> close();
+        }
+    }
+
+    private void withTest(long testId, Consumer<ExtentTest> action) {
+        ExtentTest test = tests.get(testId);
+        if (test != null) {
+            action.accept(test);
+        }
+    }
+
+    private void startTest(ReportEvent.TestStarted started) {
+        if (currentSegment == null) {
+            currentSegment = createSegment();
+            openSegments.add(currentSegment);
+        }
+        tests.put(started.testId(), currentSegment.reports.createTest(started.testName(), started.description()));
+        testSegments.put(started.testId(), currentSegment);
+        currentSegment.startedTests++;
+        if (segmentSize > 0 && currentSegment.startedTests >= segmentSize) {
+            currentSegment.sealed = true;
+            currentSegment = null;
+        }
+    }
+
+    /**
+     * Creates a new report segment.
+     */
+    private ReportSegment createSegment() {
+        try {
+            logger.info("Initializing ExtentReports...");
+            if (runTimestamp == null) {
+                runTimestamp = getCurrentDateTime();
+            }
+            segmentCount++;
+            String suffix = segmentCount == 1 ? "" : "_part" + segmentCount;
+            String reportName = reportPath + "/ExtentReport_" + runTimestamp + suffix;
+            String reportFileName = reportName + ".html";
+            ExtentReports reports = new ExtentReports();
+            reports.attachReporter(createSparkReporter(reportFileName));
+            if (ConfigReader.isSharded()) {
+                // JSON archive of the segment, from which ShardMerger rebuilds one report for all shards
+                reports.attachReporter(new JsonFormatter(reportName + ".json"));
+            }
+            return new ReportSegment(reports, reportFileName);
+        } catch (Exception e) {
+            logger.error("Failed to initialize ExtentReports: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to initialize ExtentReports", e);
+        }
+    }
+
+    /**
+     * Creates the HTML reporter of a report file.
+     *
+     * @param reportFileName The path of the HTML report.
+     * @return The configured reporter.
+     */
+    static ExtentSparkReporter createSparkReporter(String reportFileName) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFileName);
+        sparkReporter.config().setReportName("SauceDemo Automation Test Report");
+        sparkReporter.config().setDocumentTitle("Automation Test Results");
+        return sparkReporter;
+    }
+
+    /**
+     * Marks a test as finished. Flushes the report when the flush interval is reached
+     * and evicts segments whose tests have all finished.
+     */
+    private void endTest(long testId) {
+        tests.remove(testId);
+        ReportSegment segment = testSegments.remove(testId);
+        if (segment == null) {
+            return;
+        }
+
+        segment.finishedTests++;
+        finishedSinceFlush++;
+        if (segment.isComplete()) {
+            segment.reports.flush();
+            openSegments.remove(segment);
+            logger.info("Report segment written and evicted: {}", segment.reportFileName);
+        }
+        if (isFlushDue()) {
+            flushOpenSegments();
+        }
+    }
+
+    /**
+     * Returns true when enough time has passed since the last flush, or enough tests have finished and the
+     * previous flush is small enough next to the time spent since.
+     */
+    private boolean isFlushDue() {
+        long sinceFlushNanos = System.nanoTime() - lastFlushNanos;
+        if (flushIntervalNanos > 0 && sinceFlushNanos >= flushIntervalNanos) {
+            return true;
+        }
+        return flushEveryTests > 0 && finishedSinceFlush >= flushEveryTests
+                && sinceFlushNanos * flushMaxPercent >= lastFlushDurationNanos * (100 - flushMaxPercent);
+    }
+
+    /**
+     * Writes every segment still in memory to disk.
+     */
+    private void flushOpenSegments() {
+        long start = System.nanoTime();
+        for (ReportSegment segment : openSegments) {
+            segment.reports.flush();
+        }
+        finishedSinceFlush = 0;
+        lastFlushNanos = System.nanoTime();
+        lastFlushDurationNanos = lastFlushNanos - start;
+        logger.debug("Flushed {} open report segments.", openSegments.size());
+    }
+
+    /**
+     * Flushes every open segment and resets the sink so the next test starts a new report.
+     */
+    private void close() {
+        flushOpenSegments();
+        openSegments.clear();
+        tests.clear();
+        testSegments.clear();
+        currentSegment = null; // Reset to ensure proper reinitialization
+        runTimestamp = null;
+        segmentCount = 0;
+    }
+
+    /**
+     * Returns the current date and time in a specific format.
+     */
+    private static String getCurrentDateTime() {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
+        return sdf.format(new Date());
+    }
+}
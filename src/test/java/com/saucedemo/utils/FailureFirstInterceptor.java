@@ -0,0 +1,78 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders test methods so that the first failure is reported as early as possible (testOrder=failureFirst).
+ * Every method gets a failure probability from local history. For each data-provider row it takes the larger of
+ * the row's share of failed attempts, retried ones included, and a recent-failure term that is 1 for a row that
+ * failed in the last run and halves with every passing run since; the rows are combined as independent. A method
+ * whose test class changed since changeBase in git is raised to at least failureFirstChangedProbability.
+ * Methods run in decreasing order of failure probability per second of expected duration (DurationHistory),
+ * which minimizes the expected time to the first failure. Methods without any failure signal follow, longest first.
+ */
+public class FailureFirstInterceptor implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailureFirstInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.isFailureFirstOrder()) {
+            return methods;
+        }
+        Map<ITestNGMethod, Double> probabilities = new HashMap<>();
+        Map<ITestNGMethod, Double> priorities = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (!priorities.containsKey(method)) {
+                double probability = failureProbability(method);
+                probabilities.put(method, probability);
+                priorities.put(method, probability / Math.max(1, DurationHistory.estimateMillis(method)));
+            }
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparing((IMethodInstance instance) -> priorities.get(instance.getMethod()))
+                .thenComparing(instance -> DurationHistory.estimateMillis(instance.getMethod()))
+                .reversed());
+
+        if (logger.isInfoEnabled()) {
+            ordered.stream().map(IMethodInstance::getMethod).distinct()
+                    .filter(method -> probabilities.get(method) > 0)
+                    .forEach(method -> logger.info("Scheduling {} early (failure probability {})",
+                            method.getQualifiedName(), String.format("%.2f", probabilities.get(method))));
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns the probability that at least one invocation of the method fails.
+     */
+    private static double failureProbability(ITestNGMethod method) {
+        double passProbability = 1;
+        for (FlakinessHistory.Entry entry : FlakinessHistory.getAll(method)) {
+            int attempts = entry.runs() + entry.retries();
+            double failureShare = attempts > 0 ? (double) (entry.failures() + entry.retries()) / attempts : 0;
+            int runsSinceFailure = entry.getRunsSinceFailure();
+            double recentFailure = runsSinceFailure >= 0 ? Math.pow(0.5, runsSinceFailure) : 0;
+            passProbability *= 1 - Math.max(failureShare, recentFailure);
+        }
+        double probability = 1 - passProbability;
+        if (GitChanges.isChanged(method.getRealClass().getName())) {
+            probability = Math.max(probability, ConfigReader.getFailureFirstChangedProbability());
+        }
+        return probability;
+    }
+}
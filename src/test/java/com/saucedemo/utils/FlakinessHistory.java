@@ -0,0 +1,197 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-test flakiness history kept across runs in a local JSON file (retryHistoryPath).
+ * For every test invocation, identified by its qualified method name and data-provider row, it counts the runs,
+ * the final failures, the retries and the retries that recovered, i.e. were followed by a pass, and remembers
+ * the run of the last failure. Retry uses it to stop retrying tests whose failures have never been recovered by
+ * a retry; FailureFirstInterceptor uses it to run the tests most likely to fail first.
+ * A shard of a sharded run saves the history to its own directory; ShardMerger folds the shards' histories back
+ * into retryHistoryPath.
+ */
+public class FlakinessHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessHistory.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, Entry> history = load();
+
+    // Tests retried in this run whose final outcome has not been recorded yet
+    private static final Set<String> retriedInRun = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The history of one test invocation. lastFailure is the number of the run that last failed, counted like runs,
+     * or 0 if the test never failed.
+     */
+    public record Entry(int runs, int failures, int retries, int recoveries, int lastFailure) {
+
+        static final Entry EMPTY = new Entry(0, 0, 0, 0, 0);
+
+        /**
+         * Returns true when the test has been retried often enough without a single retry recovering it,
+         * so its failures are most likely deterministic.
+         */
+        @JsonIgnore
+        public boolean isDeterministicFailure() {
+            return retries >= ConfigReader.getRetryHistoryMinRetries() && recoveries == 0;
+        }
+
+        /**
+         * Returns the number of runs that passed since the last failure.
+         *
+         * @return The passing runs since the last failure, or -1 if the test never failed.
+         */
+        @JsonIgnore
+        public int getRunsSinceFailure() {
+            return lastFailure > 0 ? runs - lastFailure : -1;
+        }
+    }
+
+    private static Map<String, Entry> load() {
+        return read(Paths.get(ConfigReader.getRetryHistoryPath()));
+    }
+
+    private static Map<String, Entry> read(Path path) {
+        Map<String, Entry> loaded = new ConcurrentHashMap<>();
+        if (Files.exists(path)) {
+            try {
+                loaded.putAll(MAPPER.readValue(path.toFile(), new TypeReference<Map<String, Entry>>() {
+                }));
+                logger.info("Loaded flakiness history of {} tests from {}", loaded.size(), path);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable flakiness history {}: {}", path, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the key identifying a test invocation: the qualified method name, plus a hash of the
+     * data-provider row for parameterized tests.
+     *
+     * @param result The test result.
+     * @return The history key.
+     */
+    public static String keyOf(ITestResult result) {
+        String name = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        return parameters.length > 0 ? name + "[" + Integer.toHexString(Arrays.deepHashCode(parameters)) + "]" : name;
+    }
+
+    /**
+     * Returns the recorded history of a test invocation.
+     *
+     * @param result The test result.
+     * @return The history entry, empty if the test has no history yet.
+     */
+    public static Entry get(ITestResult result) {
+        return history.getOrDefault(keyOf(result), Entry.EMPTY);
+    }
+
+    /**
+     * Returns the recorded history of every invocation of a test method, one entry per data-provider row.
+     *
+     * @param method The test method.
+     * @return The history entries, empty if the method has no history yet.
+     */
+    public static List<Entry> getAll(ITestNGMethod method) {
+        String name = method.getQualifiedName();
+        return history.entrySet().stream()
+                .filter(entry -> entry.getKey().equals(name) || entry.getKey().startsWith(name + "["))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    /**
+     * Records that a test invocation is being retried.
+     *
+     * @param result The result of the failed attempt.
+     */
+    public static void recordRetry(ITestResult result) {
+        String key = keyOf(result);
+        retriedInRun.add(key);
+        history.merge(key, new Entry(0, 0, 1, 0, 0),
+                (entry, retry) -> new Entry(entry.runs(), entry.failures(), entry.retries() + 1, entry.recoveries(),
+                        entry.lastFailure()));
+    }
+
+    /**
+     * Records the final outcome of a test invocation; a pass after a retry counts as a recovery.
+     *
+     * @param result The result of the last attempt.
+     * @param passed Whether the last attempt passed.
+     */
+    public static void recordOutcome(ITestResult result, boolean passed) {
+        String key = keyOf(result);
+        boolean recovered = retriedInRun.remove(key) && passed;
+        history.merge(key, new Entry(1, passed ? 0 : 1, 0, recovered ? 1 : 0, passed ? 0 : 1),
+                (entry, outcome) -> new Entry(entry.runs() + 1, entry.failures() + outcome.failures(),
+                        entry.retries(), entry.recoveries() + outcome.recoveries(),
+                        passed ? entry.lastFailure() : entry.runs() + 1));
+    }
+
+    /**
+     * Adds what each shard has counted on top of the history it started from.
+     *
+     * @param shardHistories The flakiness history files saved by the shards.
+     */
+    public static synchronized void mergeShards(List<Path> shardHistories) {
+        Map<String, Entry> baseline = new HashMap<>(history);
+        for (Path shardHistory : shardHistories) {
+            read(shardHistory).forEach((key, entry) -> {
+                Entry base = baseline.getOrDefault(key, Entry.EMPTY);
+                // A failure in the shard is as many runs back in the merged history as it was in the shard's
+                int failedRunsBack = entry.lastFailure() > base.lastFailure() ? entry.runs() - entry.lastFailure() : -1;
+                history.merge(key, new Entry(entry.runs() - base.runs(), entry.failures() - base.failures(),
+                                entry.retries() - base.retries(), entry.recoveries() - base.recoveries(),
+                                failedRunsBack >= 0 ? entry.runs() - failedRunsBack : base.lastFailure()),
+                        (current, delta) -> {
+                            int runs = current.runs() + delta.runs();
+                            return new Entry(runs, current.failures() + delta.failures(),
+                                    current.retries() + delta.retries(), current.recoveries() + delta.recoveries(),
+                                    failedRunsBack >= 0 ? runs - failedRunsBack : current.lastFailure());
+                        });
+            });
+        }
+    }
+
+    /**
+     * Writes the history back to retryHistoryPath, or to the shard's directory in a sharded run,
+     * sorted by test for stable diffs.
+     */
+    public static synchronized void save() {
+        Path path = Paths.get(ConfigReader.getRetryHistoryPath());
+        if (ConfigReader.isSharded()) {
+            path = Paths.get(ConfigReader.getShardDirectory()).resolve(path.getFileName());
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), new TreeMap<>(history));
+            logger.info("Flakiness history of {} tests saved to {}", history.size(), path);
+        } catch (IOException e) {
+            logger.error("Failed to save flakiness history: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory flight recorder for the current test thread.
+ * It keeps the last flightRecorderFrames frames (screenshot, page URL and DOM excerpt, captured after page-changing
+ * driver calls) and the last flightRecorderCommands driver calls in a per-thread ring buffer. Frames are evicted
+ * oldest first so a worker never holds more than flightRecorderMaxBytes of them. Nothing is written to disk
+ * unless dump is called, which TestListener does when a test fails.
+ * Every frame costs a screenshot and a script call per page-changing step, so the recorder is off unless
+ * flightRecorder=true.
+ */
+public class FlightRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorder.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final ThreadLocal<Recording> recording = ThreadLocal.withInitial(Recording::new);
+    // Cut in the browser, so only the excerpt crosses the wire instead of the whole page source
+    private static final String DOM_EXCERPT_SCRIPT = "return document.documentElement.outerHTML.substring(0, arguments[0]);";
+
+    /**
+     * A captured moment: the call that triggered it, the page URL, a DOM excerpt and the screenshot as returned by the driver.
+     */
+    private record Frame(Instant capturedAt, String trigger, String url, String domExcerpt, byte[] screenshot) {
+
+        long size() {
+            return (screenshot != null ? screenshot.length : 0) + 2L * (domExcerpt.length() + url.length());
+        }
+    }
+
+    /**
+     * The ring buffers of one thread.
+     */
+    private static class Recording {
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final Deque<String> commands = new ArrayDeque<>();
+        private long frameBytes = 0;
+
+        void addFrame(Frame frame) {
+            frames.addLast(frame);
+            frameBytes += frame.size();
+            while (!frames.isEmpty()
+                    && (frames.size() > ConfigReader.getFlightRecorderFrames() || frameBytes > ConfigReader.getFlightRecorderMaxBytes())) {
+                frameBytes -= frames.removeFirst().size();
+            }
+        }
+
+        void addCommand(String command) {
+            commands.addLast(command);
+            while (commands.size() > ConfigReader.getFlightRecorderCommands()) {
+                commands.removeFirst();
+            }
+        }
+
+        void clear() {
+            frames.clear();
+            commands.clear();
+            frameBytes = 0;
+        }
+    }
+
+    /**
+     * Records a driver call in the command history of the current thread.
+     *
+     * @param command A short description of the call.
+     */
+    public static void recordCommand(String command) {
+        recording.get().addCommand(Instant.now() + " " + command);
+    }
+
+    /**
+     * Captures a frame from the driver into the ring buffer of the current thread.
+     * The driver must not be decorated with the recording listener, so the capture is not recorded itself.
+     *
+     * @param driver  The undecorated WebDriver instance.
+     * @param trigger The call that caused the capture.
+     */
+    public static void captureFrame(WebDriver driver, String trigger) {
+        try {
+            String url = String.valueOf(driver.getCurrentUrl());
+            String domExcerpt = String.valueOf(((JavascriptExecutor) driver)
+                    .executeScript(DOM_EXCERPT_SCRIPT, ConfigReader.getFlightRecorderDomChars()));
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            if (screenshot.length > ConfigReader.getFlightRecorderMaxBytes()) {
+                screenshot = null;
+            }
+            recording.get().addFrame(new Frame(Instant.now(), trigger, url, domExcerpt, screenshot));
+        } catch (Exception e) {
+            logger.debug("Flight recorder could not capture a frame after {}: {}", trigger, e.getMessage());
+        }
+    }
+
+    /**
+     * Clears the recording of the current thread, so the next test starts with an empty buffer.
+     */
+    public static void reset() {
+        recording.get().clear();
+    }
+
+    /**
+     * Writes the recording of the current thread to screenshotPath/flight-recorder/&lt;name&gt;_&lt;timestamp&gt;_&lt;n&gt;
+     * on the screenshot writer pool and clears it: one image and DOM file per frame, plus recording.json
+     * with the frame details and the last commands.
+     *
+     * @param name The name of the failed test.
+     * @return The directory the recording is written to, or null if nothing was recorded.
+     */
+    public static String dump(String name) {
+        Recording current = recording.get();
+        if (current.frames.isEmpty() && current.commands.isEmpty()) {
+            return null;
+        }
+        List<Frame> frames = new ArrayList<>(current.frames);
+        List<String> commands = new ArrayList<>(current.commands);
+        current.clear();
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path directory = Paths.get(ConfigReader.getScreenshotPath(), "flight-recorder",
+                name + "_" + timestamp + "_" + sequence.incrementAndGet());
+        ScreenshotUtil.runInBackground(() -> writeRecording(directory, frames, commands));
+        logger.info("Flight recorder dumping {} frames and {} commands to {}", frames.size(), commands.size(), directory);
+        return directory.toString();
+    }
+
+    private static void writeRecording(Path directory, List<Frame> frames, List<String> commands) {
+        try {
+            Files.createDirectories(directory);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(
+                    directory.resolve("recording.json").toFile(), JsonEncoding.UTF8)) {
+                generator.useDefaultPrettyPrinter();
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("frames");
+                for (int index = 0; index < frames.size(); index++) {
+                    Frame frame = frames.get(index);
+                    String prefix = "frame-" + (index + 1);
+                    Files.writeString(directory.resolve(prefix + ".html"), frame.domExcerpt(), StandardCharsets.UTF_8);
+                    String image = null;
+                    if (frame.screenshot() != null) {
+                        image = prefix + "." + ScreenshotEncoder.getFileExtension();
+                        Files.write(directory.resolve(image), encode(frame.screenshot()));
+                    }
+                    generator.writeStartObject();
+                    generator.writeStringField("capturedAt", frame.capturedAt().toString());
+                    generator.writeStringField("trigger", frame.trigger());
+                    generator.writeStringField("url", frame.url());
+                    generator.writeStringField("dom", prefix + ".html");
+                    generator.writeStringField("screenshot", image);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("commands");
+                for (String command : commands) {
+                    generator.writeString(command);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write flight recording to {}: {}", directory, e.getMessage(), e);
+        }
+    }
+
+    private static byte[] encode(byte[] screenshot) {
+        try {
+            return ScreenshotEncoder.encode(screenshot);
+        } catch (IOException e) {
+            logger.warn("Failed to encode flight recorder frame, saving the original image: {}", e.getMessage());
+            return screenshot;
+        }
+    }
+}
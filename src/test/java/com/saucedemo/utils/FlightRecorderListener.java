@@ -0,0 +1,73 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * WebDriverListener that feeds the FlightRecorder: every call is added to the command history, and a frame
+ * is captured after calls that can change the page. One listener is created per driver, holding the
+ * undecorated driver so frame captures are not recorded themselves.
+ */
+public class FlightRecorderListener implements WebDriverListener {
+
+    private static final Set<String> PAGE_CHANGING_CALLS = Set.of("click", "submit", "get", "to", "back", "forward", "refresh");
+    private static final int MAX_ARGUMENT_LENGTH = 120;
+
+    private final WebDriver driver;
+
+    /**
+     * Constructor for FlightRecorderListener.
+     *
+     * @param driver The undecorated WebDriver instance.
+     */
+    public FlightRecorderListener(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        String command = describe(target, method, args);
+        FlightRecorder.recordCommand(command);
+        if (PAGE_CHANGING_CALLS.contains(method.getName())) {
+            FlightRecorder.captureFrame(driver, command);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        FlightRecorder.recordCommand(describe(target, method, args) + " failed: " + cause.getClass().getSimpleName());
+    }
+
+    /**
+     * Describes a call without exposing typed text, which may contain credentials.
+     */
+    private static String describe(Object target, Method method, Object[] args) {
+        StringBuilder description = new StringBuilder(target.getClass().getSimpleName())
+                .append('.').append(method.getName()).append('(');
+        if (args != null) {
+            for (int index = 0; index < args.length; index++) {
+                Object arg = args[index];
+                if (index > 0) {
+                    description.append(", ");
+                }
+                if (arg instanceof CharSequence[] keys) {
+                    description.append('<').append(keys.length).append(" keys>");
+                } else if (arg instanceof By || arg instanceof String || arg instanceof Number) {
+                    String value = arg.toString();
+                    description.append(value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value);
+                } else if (arg != null) {
+                    description.append(arg.getClass().getSimpleName());
+                } else {
+                    description.append("null");
+                }
+            }
+        }
+        return description.append(')').toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.saucedemo.utils;
+
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a TestNG suite in a separate JVM, for tests of listeners that keep run-wide static state (retry budget,
+ * circuit breaker, histories). The JVM runs in its own temporary directory, so the reports, logs and histories
+ * it writes at their relative default paths stay out of the project.
+ */
+class ForkedTestNG {
+
+    private ForkedTestNG() {
+    }
+
+    /**
+     * Runs a suite and returns its console output.
+     *
+     * @param suite            The suite to run.
+     * @param directory        The working directory of the JVM.
+     * @param systemProperties System properties for the JVM, as key=value.
+     * @return The console output, standard error included.
+     */
+    static String run(XmlSuite suite, Path directory, String... systemProperties) throws IOException, InterruptedException {
+        Path suiteFile = Files.writeString(directory.resolve(suite.getName() + ".xml"), suite.toXml());
+        String classPath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(entry -> Paths.get(entry).toAbsolutePath().toString())
+                .collect(Collectors.joining(File.pathSeparator));
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String property : systemProperties) {
+            command.add("-D" + property);
+        }
+        command.addAll(List.of("-cp", classPath, TestNG.class.getName(), "-usedefaultlisteners", "false",
+                "-d", directory.resolve("test-output").resolve(suite.getName()).toString(), suiteFile.toString()));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes());
+        process.waitFor();
+        return output;
+    }
+}
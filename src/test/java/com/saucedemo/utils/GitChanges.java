@@ -0,0 +1,184 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The files changed in the local git working tree since changeBase, committed or not, including new untracked
+ * files, with the changed line ranges of each. Paths are relative to the repository root. They are read once per
+ * run with the git command line (git diff -U0), run from the repository root; outside a git repository, or when git
+ * fails, no file counts as changed and isAvailable returns false.
+ * Files under the directories the tests write to (reportPath, logPath and screenshotPath) are not changes: they are
+ * artifacts of earlier runs, not sources.
+ */
+public class GitChanges {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitChanges.class);
+    private static final long GIT_TIMEOUT_SECONDS = 30;
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\S+ \\+(\\d+)(?:,(\\d+))? @@");
+
+    // The whole file counts as changed: new, deleted or binary files
+    private static final List<LineRange> WHOLE_FILE = List.of(new LineRange(1, Integer.MAX_VALUE));
+
+    private static volatile boolean available;
+    private static final Map<String, List<LineRange>> changes = load();
+
+    /**
+     * A range of changed lines in the new version of a file, first and last included.
+     */
+    public record LineRange(int first, int last) {
+
+        public boolean overlaps(int from, int to) {
+            return first <= to && from <= last;
+        }
+    }
+
+    private static Map<String, List<LineRange>> load() {
+        String base = ConfigReader.getChangeBase();
+        Map<String, List<LineRange>> files = new LinkedHashMap<>();
+        try {
+            Path root = Paths.get(git(null, "rev-parse", "--show-toplevel").get(0));
+            String file = null;
+            boolean header = false;
+            for (String line : git(root, "diff", "-U0", "--no-color", "--no-ext-diff", base)) {
+                if (line.startsWith("diff --git ")) {
+                    file = line.substring(line.lastIndexOf(" b/") + 3);
+                    files.put(file, new ArrayList<>());
+                    header = true;
+                } else if (header && line.equals("+++ /dev/null")) {
+                    files.put(file, new ArrayList<>(WHOLE_FILE));
+                } else if (header && line.startsWith("+++ b/")) {
+                    file = line.substring(6);
+                    files.putIfAbsent(file, new ArrayList<>());
+                } else if (file != null) {
+                    Matcher hunk = HUNK.matcher(line);
+                    if (hunk.find()) {
+                        header = false;
+                        int first = Integer.parseInt(hunk.group(1));
+                        int count = hunk.group(2) != null ? Integer.parseInt(hunk.group(2)) : 1;
+                        // A pure deletion sits between its line and the next one
+                        files.get(file).add(count > 0 ? new LineRange(first, first + count - 1) : new LineRange(first, first + 1));
+                    }
+                }
+            }
+            files.replaceAll((path, ranges) -> ranges.isEmpty() ? WHOLE_FILE : List.copyOf(ranges));
+            for (String untracked : git(root, "ls-files", "--others", "--exclude-standard")) {
+                files.put(untracked, WHOLE_FILE);
+            }
+            List<String> artifactDirectories = artifactDirectories(root);
+            files.keySet().removeIf(path -> artifactDirectories.stream().anyMatch(path::startsWith));
+            available = true;
+            logger.info("{} files changed since {}", files.size(), base);
+        } catch (IOException e) {
+            logger.warn("Could not read git changes since {}: {}", base, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Map.copyOf(files);
+    }
+
+    /**
+     * Returns the artifact directories inside the repository, relative to its root and ending with a slash.
+     */
+    private static List<String> artifactDirectories(Path root) {
+        List<String> directories = new ArrayList<>();
+        for (String directory : List.of(ConfigReader.getReportPath(), ConfigReader.getLogPath(), ConfigReader.getScreenshotPath())) {
+            Path path = Paths.get(directory).toAbsolutePath().normalize();
+            if (path.startsWith(root) && !path.equals(root)) {
+                directories.add(root.relativize(path).toString().replace('\\', '/') + "/");
+            }
+        }
+        return directories;
+    }
+
+    /**
+     * Runs git in a directory and returns its non-blank output lines. The output goes to a temporary file, so the
+     * timeout also applies while git is still writing.
+     *
+     * @param directory The directory to run git in, or null for the working directory.
+     */
+    private static List<String> git(Path directory, String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        if (directory != null) {
+            command.add("-C");
+            command.add(directory.toString());
+        }
+        command.addAll(List.of(arguments));
+        Path output = Files.createTempFile("git-changes", ".out");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(output.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + String.join(" ", arguments) + " timed out");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("git " + String.join(" ", arguments) + " exited with " + process.exitValue());
+            }
+            // Decoded leniently: diffs of files in other encodings must not fail the whole read
+            return new String(Files.readAllBytes(output), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank())
+                    .map(String::trim)
+                    .toList();
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Returns whether the changes could be read from git.
+     *
+     * @return False outside a git repository or when git failed.
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Returns the changed files.
+     *
+     * @return The changed paths, relative to the repository root.
+     */
+    public static Set<String> getChangedFiles() {
+        return changes.keySet();
+    }
+
+    /**
+     * Returns the changed line ranges of a file.
+     *
+     * @param file The path of the file, relative to the repository root.
+     * @return The changed ranges, a single range over the whole file for new, deleted or binary files,
+     * or an empty list if the file did not change.
+     */
+    public static List<LineRange> getChangedLines(String file) {
+        return changes.getOrDefault(file, List.of());
+    }
+
+    /**
+     * Returns whether the source file of a class has changed.
+     *
+     * @param className The fully qualified name of a top-level class.
+     * @return True if a changed file is the class's source file.
+     */
+    public static boolean isChanged(String className) {
+        String sourceFile = "/" + className.replace('.', '/') + ".java";
+        return changes.keySet().stream().anyMatch(file -> ("/" + file).endsWith(sourceFile));
+    }
+}
@@ -1,19 +1,48 @@
 package com.saucedemo.utils;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
-import org.apache.commons.io.FileUtils;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Utility class to read JSON data from a file and map it to Java objects.
+ * The file is parsed once per JVM and exposed as immutable per-key views.
+ * When the binary cache is enabled, the dataset is also compiled to a Smile file keyed by the
+ * JSON file's SHA-256 checksum, so later runs and forked JVMs load the binary form instead of
+ * re-parsing the JSON. The JSON file remains the source of truth.
+ * Large datasets can also be streamed record by record without loading them into memory. A stream holds its file
+ * open until it is exhausted or closed: consumers that may stop early close it, and TestListener closes the
+ * streams left open when the run finishes.
  */
 public class JsonReader {
 
@@ -22,39 +51,402 @@ public class JsonReader {
     // Fetch the path for the test data JSON file from the ConfigReader class
     private static final String JSON_FILE_PATH = ConfigReader.getTestDataPath();
 
+    // Shared, thread-safe mapper used for all parsing
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Shared, thread-safe factory for the binary cache format
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    // Record streams whose parser is still open
+    private static final Set<RecordIterator> openStreams = ConcurrentHashMap.newKeySet();
+
+    private static volatile DataSource dataSource;
+    private static volatile Map<String, List<Map<String, String>>> dataset;
+
     /**
-     * Reads the JSON file and retrieves data for a specific key.
+     * The file to read test data from, together with the factory for its format.
+     */
+    private record DataSource(JsonFactory factory, File file) {
+    }
+
+    /**
+     * Retrieves the data for a specific key, parsing the JSON file on first use.
      *
      * @param key The key to fetch data for.
-     * @return List of HashMaps containing the data for the specified key.
+     * @return Immutable list of immutable maps containing the data for the specified key.
+     * @throws IOException if there is an error reading the file or parsing the JSON.
+     * @throws IllegalArgumentException if the file has no array for the key.
+     */
+    public static List<Map<String, String>> getJsonDataByKey(String key) throws IOException {
+        List<Map<String, String>> keyData = getDataset().get(key);
+        if (keyData == null) {
+            logger.error("No data found for key: {}", key);
+            throw new IllegalArgumentException("No test data found for key: " + key);
+        }
+        logger.debug("Retrieved {} records for key: {}", keyData.size(), key);
+        return keyData;
+    }
+
+    /**
+     * The records of one key, read from an open parser. The parser is closed when the records are exhausted or the
+     * stream is closed.
+     */
+    public interface RecordStream extends Iterator<Map<String, String>>, AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Streams the data for a specific key without loading the dataset into memory.
+     * Every iteration opens its own parser, which is closed once the key's records are exhausted.
+     *
+     * @param key The key to stream data for.
+     * @return A re-iterable view over the key's records, each an immutable map.
+     */
+    public static Iterable<Map<String, String>> streamJsonDataByKey(String key) {
+        return () -> openJsonDataByKey(key);
+    }
+
+    /**
+     * Opens a stream over the data for a specific key, for a consumer that closes it when done.
+     *
+     * @param key The key to stream data for.
+     * @return The key's records, each an immutable map.
+     * @throws IllegalArgumentException if the file has no array for the key.
+     */
+    public static RecordStream openJsonDataByKey(String key) {
+        return new RecordIterator(key);
+    }
+
+    /**
+     * Closes every record stream that is still open, e.g. because a data provider was not read to the end.
+     */
+    public static void closeStreams() {
+        for (RecordIterator stream : openStreams) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Returns the parsed dataset, loading it exactly once (thread-safe).
+     *
+     * @return Immutable map of keys to their records.
      * @throws IOException if there is an error reading the file or parsing the JSON.
      */
-    public static List<HashMap<String, String>> getJsonDataByKey(String key) throws IOException {
+    private static Map<String, List<Map<String, String>>> getDataset() throws IOException {
+        if (dataset == null) {
+            synchronized (JsonReader.class) {
+                if (dataset == null) {
+                    dataset = loadDataset();
+                }
+            }
+        }
+        return dataset;
+    }
+
+    /**
+     * Loads the dataset from the resolved data source, falling back to the JSON file if the binary cache is unreadable.
+     *
+     * @return Immutable map of keys to their records.
+     * @throws IOException if there is an error reading the file or parsing the JSON.
+     */
+    private static Map<String, List<Map<String, String>>> loadDataset() throws IOException {
+        DataSource source = getDataSource();
         try {
-            logger.info("Reading JSON data for key: {} from file: {}", key, JSON_FILE_PATH);
+            return parseDataset(source);
+        } catch (IOException e) {
+            if (source.factory() != SMILE_FACTORY) {
+                throw e;
+            }
+            logger.warn("Unreadable binary cache {}, falling back to JSON.", source.file(), e);
+            return parseDataset(new DataSource(MAPPER.getFactory(), new File(JSON_FILE_PATH)));
+        }
+    }
 
-            // Read the JSON file as a string
-            String jsonContent = FileUtils.readFileToString(new File(JSON_FILE_PATH), StandardCharsets.UTF_8);
+    /**
+     * Returns the file to read test data from, resolving it exactly once (thread-safe).
+     *
+     * @return The binary cache when enabled and available, otherwise the JSON file.
+     * @throws IOException if the JSON file cannot be read.
+     */
+    private static DataSource getDataSource() throws IOException {
+        if (dataSource == null) {
+            synchronized (JsonReader.class) {
+                if (dataSource == null) {
+                    dataSource = resolveDataSource();
+                }
+            }
+        }
+        return dataSource;
+    }
+
+    /**
+     * Resolves the binary cache for the JSON file's current content, compiling it if it does not exist yet.
+     *
+     * @return The binary cache when enabled and available, otherwise the JSON file.
+     * @throws IOException if the JSON file cannot be read.
+     */
+    private static DataSource resolveDataSource() throws IOException {
+        File jsonFile = new File(JSON_FILE_PATH);
+        DataSource jsonSource = new DataSource(MAPPER.getFactory(), jsonFile);
+        if (!ConfigReader.isTestDataBinaryCacheEnabled()) {
+            return jsonSource;
+        }
 
-            // Create an ObjectMapper instance
-            ObjectMapper mapper = new ObjectMapper();
+        Path cacheFile = getCacheFile(jsonFile);
+        if (Files.exists(cacheFile)) {
+            logger.info("Using binary test data cache: {}", cacheFile);
+            return new DataSource(SMILE_FACTORY, cacheFile.toFile());
+        }
+        return writeCache(jsonFile, cacheFile) ? new DataSource(SMILE_FACTORY, cacheFile.toFile()) : jsonSource;
+    }
 
-            // Parse the JSON content into a HashMap
-            HashMap<String, List<HashMap<String, String>>> data = mapper.readValue(jsonContent,
-                    new TypeReference<>() {});
+    /**
+     * Streams a dataset file into memory without materialising it as a single String.
+     *
+     * @param source The file to parse and the factory for its format.
+     * @return Immutable map of keys to their records.
+     * @throws IOException if there is an error reading or parsing the file.
+     */
+    private static Map<String, List<Map<String, String>>> parseDataset(DataSource source) throws IOException {
+        logger.info("Loading test data from file: {}", source.file());
+        try (JsonParser parser = source.factory().createParser(source.file())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an object at the root of " + source.file());
+            }
 
-            // Retrieve and return the data for the specified key
-            List<HashMap<String, String>> keyData = data.get(key);
-            if (keyData == null) {
-                logger.warn("No data found for key: {}", key);
-            } else {
-                logger.info("Successfully retrieved data for key: {}", key);
+            Map<String, List<Map<String, String>>> data = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    logger.warn("Skipping non-array value for key: {}", key);
+                    parser.skipChildren();
+                    continue;
+                }
+                data.put(key, Collections.unmodifiableList(readRecords(parser)));
             }
-            return keyData;
 
+            logger.info("Successfully loaded test data keys: {}", data.keySet());
+            return Collections.unmodifiableMap(data);
         } catch (IOException e) {
-            logger.error("Error reading or parsing JSON file for key: {}", key, e);
+            logger.error("Error reading or parsing test data file: {}", source.file(), e);
             throw e;
         }
     }
+
+    /**
+     * Returns the cache file for the JSON file's current content.
+     *
+     * @param jsonFile The JSON source file.
+     * @return The cache file path, named after the source file and its SHA-256 checksum.
+     * @throws IOException if the JSON file cannot be read.
+     */
+    private static Path getCacheFile(File jsonFile) throws IOException {
+        String baseName = jsonFile.getName().replaceFirst("\\.json$", "");
+        return Paths.get(ConfigReader.getTestDataCachePath(), baseName + "-" + checksum(jsonFile) + ".smile");
+    }
+
+    /**
+     * Computes the SHA-256 checksum of a file without loading it into memory.
+     *
+     * @param file The file to checksum.
+     * @return The checksum as a lowercase hex string.
+     * @throws IOException if the file cannot be read.
+     */
+    private static String checksum(File file) throws IOException {
+        try (DigestInputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()),
+                MessageDigest.getInstance("SHA-256"))) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(inputStream.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Transcodes the JSON file to the binary cache token by token, so memory use does not depend on file size.
+     * The file is written to a temporary name and moved into place atomically so concurrent forks never
+     * observe a partial cache. The caches of earlier versions of the JSON file are then deleted.
+     * Failures are logged, not thrown, since the cache is only an optimisation.
+     *
+     * @param jsonFile  The JSON source file.
+     * @param cacheFile The cache file to create.
+     * @return True if the cache was written, false otherwise.
+     */
+    private static boolean writeCache(File jsonFile, Path cacheFile) {
+        try {
+            DirectoryUtil.createDirectory(cacheFile.getParent().toString());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (JsonParser parser = MAPPER.getFactory().createParser(jsonFile);
+                 JsonGenerator generator = SMILE_FACTORY.createGenerator(tempFile.toFile(), JsonEncoding.UTF8)) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Binary test data cache written: {}", cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write binary test data cache: {}", cacheFile, e);
+            return false;
+        }
+        deleteStaleCaches(jsonFile, cacheFile);
+        return true;
+    }
+
+    /**
+     * Deletes the caches of the JSON file other than the current one. A cache another fork is still reading may
+     * fail to delete, and is left for the next run.
+     *
+     * @param jsonFile  The JSON source file.
+     * @param cacheFile The current cache file.
+     */
+    private static void deleteStaleCaches(File jsonFile, Path cacheFile) {
+        String baseName = jsonFile.getName().replaceFirst("\\.json$", "");
+        Pattern cacheName = Pattern.compile(Pattern.quote(baseName) + "-[0-9a-f]{64}\\.smile");
+        try (Stream<Path> files = Files.list(cacheFile.getParent())) {
+            for (Path file : files.filter(file -> cacheName.matcher(file.getFileName().toString()).matches()
+                    && !file.equals(cacheFile)).toList()) {
+                try {
+                    Files.deleteIfExists(file);
+                    logger.info("Stale binary test data cache deleted: {}", file);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete stale binary test data cache: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to list binary test data caches in: {}", cacheFile.getParent(), e);
+        }
+    }
+
+    /**
+     * Reads the records of an array whose START_ARRAY token is the current token.
+     *
+     * @param parser The parser positioned on START_ARRAY.
+     * @return The records, each wrapped as an immutable map.
+     * @throws IOException if the array cannot be parsed or holds anything but objects.
+     */
+    private static List<Map<String, String>> readRecords(JsonParser parser) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        for (Map<String, String> record = readNextRecord(parser); record != null; record = readNextRecord(parser)) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Reads the next record of an array.
+     *
+     * @param parser The parser positioned on START_ARRAY or at the end of a record.
+     * @return The record as an immutable map, or null at the end of the array.
+     * @throws IOException if the next element is not an object, or cannot be parsed.
+     */
+    private static Map<String, String> readNextRecord(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a record object in the test data array, found " + token + " at line "
+                    + parser.currentLocation().getLineNr() + ", column " + parser.currentLocation().getColumnNr());
+        }
+        return readRecord(parser);
+    }
+
+    /**
+     * Reads a single flat record whose START_OBJECT token is the current token.
+     *
+     * @param parser The parser positioned on START_OBJECT.
+     * @return The record as an immutable map.
+     * @throws IOException if the record cannot be parsed.
+     */
+    private static Map<String, String> readRecord(JsonParser parser) throws IOException {
+        Map<String, String> record = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                logger.warn("Skipping nested value for field: {}", field);
+                parser.skipChildren();
+                continue;
+            }
+            record.put(field, value == JsonToken.VALUE_NULL ? null : parser.getText());
+        }
+        return Collections.unmodifiableMap(record);
+    }
+
+    /**
+     * Iterates over the records of one key, reading one record ahead from an open parser.
+     */
+    private static class RecordIterator implements RecordStream {
+
+        private JsonParser parser;
+        private Map<String, String> nextRecord;
+
+        RecordIterator(String key) {
+            try {
+                DataSource source = getDataSource();
+                parser = source.factory().createParser(source.file());
+                openStreams.add(this);
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected an object at the root of " + source.file());
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String currentKey = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && currentKey.equals(key)) {
+                        advance();
+                        return;
+                    }
+                    parser.skipChildren();
+                }
+                close();
+                logger.error("No data found for key: {}", key);
+                throw new IllegalArgumentException("No test data found for key: " + key);
+            } catch (IOException e) {
+                close();
+                logger.error("Error streaming test data for key: {}", key, e);
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRecord != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (nextRecord == null) {
+                throw new NoSuchElementException("No more records available.");
+            }
+            Map<String, String> record = nextRecord;
+            try {
+                advance();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            return record;
+        }
+
+        private void advance() throws IOException {
+            nextRecord = readNextRecord(parser);
+            if (nextRecord == null) {
+                close();
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            nextRecord = null;
+            openStreams.remove(this);
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close test data parser.", e);
+                }
+                parser = null;
+            }
+        }
+    }
 }
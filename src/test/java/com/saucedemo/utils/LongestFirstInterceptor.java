@@ -0,0 +1,49 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders test classes and their methods longest-first (longest processing time first scheduling), so the
+ * slowest classes start while all threads are free instead of stretching the end of a parallel run.
+ * Expected durations come from the DurationHistory of earlier runs, or its static estimates for methods
+ * that have not run yet. Ties keep the declaration order. This is the default test order (testOrder=longestFirst);
+ * with testOrder=failureFirst the FailureFirstInterceptor orders the methods instead.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongestFirstInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (ConfigReader.isFailureFirstOrder()) {
+            return methods;
+        }
+        Map<Class<?>, Long> classMillis = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            classMillis.merge(instance.getMethod().getRealClass(),
+                    DurationHistory.estimateMillis(instance.getMethod()), Long::sum);
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparing((IMethodInstance instance) -> classMillis.get(instance.getMethod().getRealClass()))
+                .thenComparing(instance -> DurationHistory.estimateMillis(instance.getMethod()))
+                .reversed());
+
+        if (logger.isInfoEnabled()) {
+            ordered.stream().map(instance -> instance.getMethod().getRealClass()).distinct().forEach(testClass ->
+                    logger.info("Scheduling {} (expected {} ms)", testClass.getSimpleName(), classMillis.get(testClass)));
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,62 @@
+package com.saucedemo.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+/**
+ * ParallelSuiteListener applies the configured parallelism settings to every suite before it runs.
+ * This class implements IAlterSuiteListener so the suite and data-provider thread counts can be configured
+ * through config.properties or system properties instead of being hard-coded in each suite XML.
+ * Counts set to "auto" are sized from the host's cores and memory by WorkerSizing. The parallel mode is
+ * parallelMode; the suite XMLs declare no parallel mode or thread count, so these settings are the only source.
+ * With testDataStreaming enabled, data providers run their rows one after another (RetryListener, the suites' only
+ * annotation transformer, turns their parallel flag off): TestNG reads the whole iterator of a parallel data provider
+ * up front to schedule its rows, which would hold every streamed record in memory.
+ * TestNG also keeps the result of every row until the end of the run, and each result references its row, so a
+ * passed row's parameters are released once the next row of the same method starts and its listeners are done.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ITestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteListener.class);
+    private static final Object[] RELEASED_PARAMETERS = new Object[0];
+
+    // The last passed row of each method while test data is streamed
+    private static final Map<ITestNGMethod, ITestResult> lastPassedRows = new ConcurrentHashMap<>();
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        WorkerSizing.Plan plan = WorkerSizing.plan();
+        XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.getValidParallel(ConfigReader.getParallelMode());
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallelMode);
+            suite.setThreadCount(plan.threadCount());
+            suite.setDataProviderThreadCount(plan.dataProviderThreadCount());
+            logger.info("Suite '{}' parallel mode set to {}, thread count set to {}, data-provider thread count set to {}",
+                    suite.getName(), parallelMode, plan.threadCount(), plan.dataProviderThreadCount());
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ITestResult previous = lastPassedRows.remove(result.getMethod());
+        if (previous != null) {
+            previous.setParameters(RELEASED_PARAMETERS);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        if (ConfigReader.isTestDataStreaming() && result.getParameters().length > 0) {
+            lastPassedRows.put(result.getMethod(), result);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.saucedemo.utils;
+
+import com.aventstack.extentreports.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Reporter;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory and run-time benchmark of the HTML report for a large run (mvn test -Pbenchmark).
+ * Publishes benchmark.tests synthetic tests (10000 by default: ten log lines each, every tenth failing with a
+ * stack trace) through a report pipeline and an ExtentReportSink, once per report mode, and logs for each mode:
+ * - the heap retained after a full GC, sampled every benchmark.sampleEvery tests once the writer has caught up
+ *   (97 by default, so the samples fall at every point of a report segment);
+ * - the time until the report is closed, excluding the sampling pauses.
+ * The reports are written to target/report-benchmark/&lt;mode&gt;.
+ */
+public class ReportBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportBenchmark.class);
+    private static final int TESTS = Integer.getInteger("benchmark.tests", 10000);
+    private static final int SAMPLE_EVERY = Integer.getInteger("benchmark.sampleEvery", 97);
+    private static final int LOGS_PER_TEST = 10;
+
+    @DataProvider(name = "reportModes")
+    public static Object[][] reportModes() {
+        return new Object[][]{
+                {"single", 0, 0, 0, 100},
+                {"segmented", ConfigReader.getReportSegmentSize(), ConfigReader.getReportFlushEveryTests(),
+                        ConfigReader.getReportFlushIntervalSeconds(), ConfigReader.getReportFlushMaxPercent()},
+                {"segmented-unbudgeted", ConfigReader.getReportSegmentSize(), ConfigReader.getReportFlushEveryTests(),
+                        ConfigReader.getReportFlushIntervalSeconds(), 100},
+        };
+    }
+
+    /**
+     * Benchmark one report mode: single is one report flushed at close, segmented uses the configured segments
+     * and flush triggers, and segmented-unbudgeted flushes every time a trigger is reached.
+     */
+    @Test(dataProvider = "reportModes")
+    public void benchmarkReport(String mode, int segmentSize, int flushEveryTests, int flushIntervalSeconds,
+                                int flushMaxPercent) throws InterruptedException {
+        File reportDirectory = new File("target/report-benchmark/" + mode);
+        reportDirectory.mkdirs();
+        File[] previousReports = reportDirectory.listFiles();
+        if (previousReports != null) {
+            for (File report : previousReports) {
+                report.delete();
+            }
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong endedTests = new AtomicLong();
+        ReportEventPipeline pipeline = new ReportEventPipeline("report-benchmark-" + mode);
+        pipeline.addSink(new ExtentReportSink(reportDirectory.getPath(), segmentSize, flushEveryTests,
+                flushIntervalSeconds, flushMaxPercent));
+        pipeline.addSink(event -> {
+            if (event instanceof ReportEvent.TestEnded) {
+                endedTests.incrementAndGet();
+            }
+        });
+
+        long baseline = usedAfterGc(memory);
+        long maxRetained = 0;
+        long pausedNanos = 0;
+        long start = System.nanoTime();
+        for (int test = 1; test <= TESTS; test++) {
+            publishTest(pipeline, test);
+            if (test % SAMPLE_EVERY == 0) {
+                long pauseStart = System.nanoTime();
+                while (endedTests.get() < test) {
+                    Thread.sleep(1);
+                }
+                // Waiting for the writer counts as benchmark time, only the GC is excluded
+                long gcStart = System.nanoTime();
+                maxRetained = Math.max(maxRetained, usedAfterGc(memory) - baseline);
+                pausedNanos += System.nanoTime() - gcStart;
+                logger.debug("{}: {} tests written in {} ms", mode, test,
+                        TimeUnit.NANOSECONDS.toMillis(gcStart - pauseStart));
+            }
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        pipeline.publish(new ReportEvent.ReportClosed(done));
+        done.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start - pausedNanos);
+
+        String result = String.format("%s: %d tests, retained %.1f MB max, %.1f s, %d report files", mode, TESTS,
+                maxRetained / (1024.0 * 1024), elapsedMillis / 1000.0, countReports(reportDirectory));
+        logger.info(result);
+        Reporter.log(result, true);
+    }
+
+    private static void publishTest(ReportEventPipeline pipeline, long testId) {
+        pipeline.publish(new ReportEvent.TestStarted(testId, "benchmarkTest" + testId, "Synthetic test " + testId,
+                Map.of("row", String.valueOf(testId))));
+        pipeline.publish(new ReportEvent.CategoryAssigned(testId, "Benchmark"));
+        pipeline.publish(new ReportEvent.BrowserAssigned(testId, "chrome"));
+        for (int line = 0; line < LOGS_PER_TEST; line++) {
+            pipeline.publish(new ReportEvent.MessageLogged(testId, Status.INFO,
+                    "Step " + line + " of synthetic test " + testId + " completed"));
+        }
+        if (testId % 10 == 0) {
+            pipeline.publish(new ReportEvent.ExceptionLogged(testId,
+                    new AssertionError("Synthetic failure of test " + testId)));
+        } else {
+            pipeline.publish(new ReportEvent.MessageLogged(testId, Status.PASS, "Test passed"));
+        }
+        pipeline.publish(new ReportEvent.TestEnded(testId));
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long countReports(File reportDirectory) {
+        File[] reports = reportDirectory.listFiles((directory, name) -> name.endsWith(".html"));
+        return reports == null ? 0 : reports.length;
+    }
+}
@@ -0,0 +1,71 @@
+package com.saucedemo.utils;
+
+import com.aventstack.extentreports.Status;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Immutable reporting events published by test threads and applied by the report writer thread.
+ * Every event carries the id of the test it belongs to, assigned when the test is started.
+ */
+public sealed interface ReportEvent {
+
+    /**
+     * A test was started. The attributes identify the test invocation, such as its data-provider row.
+     */
+    record TestStarted(long testId, String testName, String description, Map<String, String> attributes)
+            implements ReportEvent {
+    }
+
+    /**
+     * A message was logged for a test.
+     */
+    record MessageLogged(long testId, Status status, String message) implements ReportEvent {
+    }
+
+    /**
+     * An exception was logged for a test.
+     */
+    record ExceptionLogged(long testId, Throwable throwable) implements ReportEvent {
+    }
+
+    /**
+     * A screenshot file was attached to a test.
+     */
+    record ScreenshotAttached(long testId, String screenshotPath) implements ReportEvent {
+    }
+
+    /**
+     * A category was assigned to a test.
+     */
+    record CategoryAssigned(long testId, String category) implements ReportEvent {
+    }
+
+    /**
+     * Browser information was assigned to a test.
+     */
+    record BrowserAssigned(long testId, String browser) implements ReportEvent {
+    }
+
+    /**
+     * A timed span (setup, teardown, test, retry or step) measured with System.nanoTime.
+     * The test id is 0 when the span does not belong to a test.
+     */
+    record SpanRecorded(long testId, String kind, String name, long startNanos, long endNanos,
+                        Map<String, String> attributes) implements ReportEvent {
+    }
+
+    /**
+     * A test finished. Only teardown timings may still be published for it.
+     */
+    record TestEnded(long testId) implements ReportEvent {
+    }
+
+    /**
+     * The report is being closed; every sink writes out what it holds. The latch is released
+     * once all sinks have handled the event.
+     */
+    record ReportClosed(CountDownLatch done) implements ReportEvent {
+    }
+}
@@ -0,0 +1,171 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-producer, single-consumer pipeline for reporting events.
+ * Test threads publish events onto a lock-free queue and return immediately; a single daemon writer thread
+ * drains the queue and hands every event to each registered sink, in publication order.
+ * The writer parks while the queue is empty and is only unparked by a producer when it is actually waiting.
+ * A sink that throws, even an Error, is logged and skipped for that event; the writer keeps draining.
+ * The queue holds at most reportQueueCapacity events, so memory stays bounded when tests outrun the writer:
+ * a producer that finds it full waits for room, up to reportQueueTimeoutSeconds, and then drops the event.
+ * Dropped events are counted and reported when the report is closed. A ReportClosed event is never dropped: it
+ * is queued beyond the capacity, so closing the report is only bounded by reportCloseTimeoutSeconds.
+ */
+public class ReportEventPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportEventPipeline.class);
+
+    private final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private final List<ReportSink> sinks = new CopyOnWriteArrayList<>();
+    private final Semaphore capacity;
+    private final long offerTimeoutSeconds;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean writerWaiting = false;
+
+    /**
+     * Constructor for ReportEventPipeline, with the queue capacity and timeout from config.properties.
+     * Starts the writer thread.
+     *
+     * @param threadName The name of the writer thread.
+     */
+    public ReportEventPipeline(String threadName) {
+        this(threadName, ConfigReader.getReportQueueCapacity(), ConfigReader.getReportQueueTimeoutSeconds());
+    }
+
+    /**
+     * Constructor for ReportEventPipeline. Starts the writer thread.
+     *
+     * @param threadName          The name of the writer thread.
+     * @param queueCapacity       The most events queued at once.
+     * @param offerTimeoutSeconds How long a producer waits for room in a full queue before dropping its event.
+     */
+    public ReportEventPipeline(String threadName, int queueCapacity, long offerTimeoutSeconds) {
+        this.capacity = new Semaphore(Math.max(1, queueCapacity));
+        this.offerTimeoutSeconds = offerTimeoutSeconds;
+        this.writer = Thread.ofPlatform().name(threadName).daemon().unstarted(this::drain);
+        this.writer.start();
+    }
+
+    /**
+     * Registers a sink. Events published afterwards are delivered to it.
+     *
+     * @param sink The sink to add.
+     */
+    public void addSink(ReportSink sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * Publishes an event. Returns at once unless the queue is full; then waits for room, up to the offer timeout,
+     * and drops the event if there is still none. A ReportClosed event is always queued.
+     *
+     * @param event The event to publish.
+     */
+    public void publish(ReportEvent event) {
+        try {
+            if (holdsCapacity(event) && !capacity.tryAcquire(offerTimeoutSeconds, TimeUnit.SECONDS)) {
+                drop(event);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(event);
+            return;
+        }
+        queue.offer(event);
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Removes every event the writer has not taken yet, for a close that timed out.
+     *
+     * @return The removed events, in publication order.
+     */
+    public List<ReportEvent> discardQueued() {
+        List<ReportEvent> discarded = new ArrayList<>();
+        for (ReportEvent event = queue.poll(); event != null; event = queue.poll()) {
+            if (holdsCapacity(event)) {
+                capacity.release();
+                droppedEvents.incrementAndGet();
+            }
+            discarded.add(event);
+        }
+        return discarded;
+    }
+
+    /**
+     * Returns the number of events dropped since the last call, because the queue stayed full or a close timed
+     * out, and resets it.
+     *
+     * @return The number of dropped events.
+     */
+    public long takeDroppedEvents() {
+        return droppedEvents.getAndSet(0);
+    }
+
+    private static boolean holdsCapacity(ReportEvent event) {
+        return !(event instanceof ReportEvent.ReportClosed);
+    }
+
+    private void drop(ReportEvent event) {
+        if (droppedEvents.getAndIncrement() == 0) {
+            logger.warn("Report queue stayed full for {} s; dropping {} and later events until the writer catches up.",
+                    offerTimeoutSeconds, event.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Writer loop: applies queued events to every sink and parks when there is nothing to do.
+     */
+    private void drain() {
+        while (true) {
+            ReportEvent event = queue.poll();
+            if (event == null) {
+                writerWaiting = true;
+                // Re-check after announcing the wait, so an event offered concurrently is not missed
+                if (queue.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                writerWaiting = false;
+                continue;
+            }
+            if (holdsCapacity(event)) {
+                capacity.release();
+            }
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(ReportEvent event) {
+        try {
+            for (ReportSink sink : sinks) {
+                try {
+                    sink.accept(event);
+                } catch (Throwable t) {
+                    logger.error("Report sink {} failed on {}: {}", sink.getClass().getSimpleName(),
+                            event.getClass().getSimpleName(), t.getMessage(), t);
+                }
+            }
+        } finally {
+            if (event instanceof ReportEvent.ReportClosed closed) {
+                closed.done().countDown();
+            }
+        }
+    }
+}
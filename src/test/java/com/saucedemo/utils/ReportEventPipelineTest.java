@@ -0,0 +1,54 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the backpressure of the report pipeline: a full queue drops events after the offer timeout and counts
+ * them. Does not need a browser (mvn test -Putils).
+ */
+public class ReportEventPipelineTest {
+
+    /**
+     * Test that events published while the queue is full are dropped and counted, and the queued ones still reach
+     * the sinks once the writer catches up.
+     */
+    @Test
+    public void testFullQueueDropsAndCountsEvents() throws InterruptedException {
+        ReportEventPipeline pipeline = new ReportEventPipeline("report-pipeline-test", 2, 0);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(3);
+        pipeline.addSink(event -> {
+            if (event instanceof ReportEvent.TestEnded) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.countDown();
+            }
+        });
+
+        // The writer takes the first event off the queue and blocks in the sink
+        pipeline.publish(new ReportEvent.TestEnded(1));
+        assertTrue(writing.await(10, TimeUnit.SECONDS), "The writer did not take the first event.");
+        for (long testId = 2; testId <= 5; testId++) {
+            pipeline.publish(new ReportEvent.TestEnded(testId));
+        }
+        assertEquals(pipeline.takeDroppedEvents(), 2, "Events beyond the queue capacity were not dropped.");
+
+        release.countDown();
+        CountDownLatch done = new CountDownLatch(1);
+        pipeline.publish(new ReportEvent.ReportClosed(done));
+        assertTrue(done.await(10, TimeUnit.SECONDS), "The report was not closed.");
+        assertTrue(written.await(0, TimeUnit.SECONDS), "The queued events were not written.");
+        assertEquals(pipeline.takeDroppedEvents(), 0);
+    }
+}
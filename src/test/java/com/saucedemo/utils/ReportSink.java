@@ -0,0 +1,15 @@
+package com.saucedemo.utils;
+
+/**
+ * A destination for reporting events. Sinks are only ever called from the report writer thread,
+ * one event at a time and in publication order, so implementations need no synchronization.
+ */
+public interface ReportSink {
+
+    /**
+     * Applies a single event.
+     *
+     * @param event The event to apply.
+     */
+    void accept(ReportEvent event);
+}
@@ -5,16 +5,28 @@ import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Retry logic for failed test cases.
  * This class implements the IRetryAnalyzer interface from TestNG.
+ * Only failures caused by one of the configured transient exceptions (retryOnExceptions) are retried, so
+ * assertion failures fail fast. Retries are further limited per test (retryMaxAttempts), per suite run
+ * (retrySuiteBudget) and by the FlakinessHistory: a test whose earlier retries never recovered is not retried.
+ * Nothing is retried once the CircuitBreaker is open.
+ * TestListener discards the browser session of a retried attempt, so every retry runs on a new session.
  */
 public class Retry implements IRetryAnalyzer {
 
     private static final Logger logger = LoggerFactory.getLogger(Retry.class);
 
-    // Maximum number of retry attempts
-    private static final int MAX_RETRY_COUNT = 1;
+    // Transient exception classes, resolved once from retryOnExceptions
+    private static final List<Class<?>> TRANSIENT_EXCEPTIONS = loadTransientExceptions();
+
+    // Retries left for the whole suite run
+    private static final AtomicInteger suiteBudget = new AtomicInteger(ConfigReader.getRetrySuiteBudget());
 
     // Current retry attempt
     private int retryCount = 0;
@@ -27,13 +39,58 @@ public class Retry implements IRetryAnalyzer {
      */
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            retryCount++;
-            logger.warn("Retrying test '{}' ({} out of {} attempts).", 
-                        result.getName(), retryCount, MAX_RETRY_COUNT);
-            return true;
+        int maxRetryCount = ConfigReader.getRetryMaxAttempts();
+        if (retryCount >= maxRetryCount) {
+            logger.error("Test '{}' failed after {} retries.", result.getName(), retryCount);
+            return false;
+        }
+        if (CircuitBreaker.isOpen()) {
+            logger.info("Not retrying test '{}': the circuit breaker is open.", result.getName());
+            return false;
+        }
+        Throwable transientCause = findTransientCause(result.getThrowable());
+        if (transientCause == null) {
+            logger.info("Not retrying test '{}': the failure is not transient.", result.getName());
+            return false;
+        }
+        if (FlakinessHistory.get(result).isDeterministicFailure()) {
+            logger.info("Not retrying test '{}': earlier retries never recovered it.", result.getName());
+            return false;
+        }
+        if (suiteBudget.getAndUpdate(left -> Math.max(0, left - 1)) == 0) {
+            logger.warn("Not retrying test '{}': the suite retry budget is used up.", result.getName());
+            return false;
+        }
+        retryCount++;
+        FlakinessHistory.recordRetry(result);
+        logger.warn("Retrying test '{}' after {} ({} out of {} attempts).",
+                    result.getName(), transientCause.getClass().getSimpleName(), retryCount, maxRetryCount);
+        return true;
+    }
+
+    /**
+     * Returns the first throwable in the cause chain that is an instance of a transient exception class.
+     */
+    private static Throwable findTransientCause(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            for (Class<?> exceptionClass : TRANSIENT_EXCEPTIONS) {
+                if (exceptionClass.isInstance(cause)) {
+                    return cause;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Class<?>> loadTransientExceptions() {
+        List<Class<?>> exceptions = new ArrayList<>();
+        for (String className : ConfigReader.getRetryOnExceptions()) {
+            try {
+                exceptions.add(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                logger.warn("Ignoring unknown retry exception class: {}", className);
+            }
         }
-        logger.error("Test '{}' failed after {} attempt.", result.getName(), MAX_RETRY_COUNT);
-        return false;
+        return exceptions;
     }
 }
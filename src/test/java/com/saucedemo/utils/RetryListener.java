@@ -1,6 +1,9 @@
 package com.saucedemo.utils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
 import org.testng.annotations.ITestAnnotation;
 
 import java.lang.reflect.Constructor;
@@ -10,12 +13,25 @@ import java.lang.reflect.Method;
  * RetryListener to globally apply retry logic to failed test methods. This
  * class implements IAnnotationTransformer to modify test annotations at
  * runtime.
+ * TestNG keeps a single annotation transformer, the last one registered, so this
+ * is the only one in the suites: it also makes data providers run their rows
+ * sequentially while test data is streamed (see ParallelSuiteListener).
  */
 public class RetryListener implements IAnnotationTransformer {
 
+	private static final Logger logger = LoggerFactory.getLogger(RetryListener.class);
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
 		annotation.setRetryAnalyzer(Retry.class);
 	}
+
+	@Override
+	public void transform(IDataProviderAnnotation annotation, Method method) {
+		if (ConfigReader.isTestDataStreaming() && annotation.isParallel()) {
+			annotation.setParallel(false);
+			logger.info("Data provider '{}' runs its rows sequentially while test data is streamed", annotation.getName());
+		}
+	}
 }
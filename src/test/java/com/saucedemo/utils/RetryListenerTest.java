@@ -0,0 +1,66 @@
+package com.saucedemo.utils;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checks that failed tests are retried when the suites' listeners are registered together: TestNG keeps only one
+ * annotation transformer, so a second one would silently replace RetryListener. Runs a TestNG suite with the
+ * listeners in suite-XML order in a separate JVM and does not need a browser (mvn test -Putils).
+ */
+public class RetryListenerTest {
+
+    /**
+     * Test that a transient failure is retried once and the retry passes, with the suites' listeners registered.
+     * The suite runs in its own JVM, so the retry budget and flakiness history of this run are left untouched.
+     */
+    @Test
+    public void testTransientFailureIsRetried() throws IOException, InterruptedException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("RetrySuite");
+        suite.setListeners(List.of(RetryListener.class.getName(), ParallelSuiteListener.class.getName()));
+        XmlTest test = new XmlTest(suite);
+        test.setName("RetryTest");
+        test.setXmlClasses(List.of(new XmlClass(TransientlyFailingSample.class)));
+        String output = ForkedTestNG.run(suite, Files.createTempDirectory("retry-suite"));
+
+        assertTrue(output.contains("Total tests run: 2, Passes: 1, Failures: 0, Skips: 0, Retries: 1"),
+                "The transient failure was not retried into a pass:\n" + output);
+    }
+
+    /**
+     * Test that every suite XML registers at most one annotation transformer, as TestNG keeps only the last one.
+     */
+    @Test
+    public void testSuitesRegisterOneAnnotationTransformer() throws IOException, ClassNotFoundException {
+        List<Path> suiteFiles;
+        try (Stream<Path> files = Files.list(Paths.get("test-suites"))) {
+            suiteFiles = files.filter(file -> file.toString().endsWith(".xml")).toList();
+        }
+        for (Path suiteFile : suiteFiles) {
+            List<String> transformers = new ArrayList<>();
+            for (XmlSuite suite : new Parser(suiteFile.toString()).parseToList()) {
+                for (String listener : suite.getListeners()) {
+                    if (IAnnotationTransformer.class.isAssignableFrom(Class.forName(listener))) {
+                        transformers.add(listener);
+                    }
+                }
+            }
+            assertTrue(transformers.size() <= 1, suiteFile + " registers several annotation transformers: " + transformers);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.fail;
+
+/**
+ * Sample tests for RetryTest, run in a separate JVM one scenario at a time. Not part of any suite.
+ */
+public class RetrySample {
+
+    private static final AtomicInteger wrappedAttempts = new AtomicInteger();
+
+    @Test
+    public void assertionFailure() {
+        fail("Synthetic assertion failure");
+    }
+
+    @Test
+    public void wrappedTransientFailureOnce() {
+        if (wrappedAttempts.incrementAndGet() == 1) {
+            throw new IllegalStateException("Synthetic wrapper", new TimeoutException("Synthetic transient failure"));
+        }
+    }
+
+    @Test
+    public void alwaysTransient() {
+        throw new TimeoutException("Synthetic transient failure");
+    }
+
+    @Test
+    public void alsoAlwaysTransient() {
+        throw new TimeoutException("Synthetic transient failure");
+    }
+}
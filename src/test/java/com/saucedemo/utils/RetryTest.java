@@ -0,0 +1,96 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks the retry decision rules: only transient failures are retried, within retryMaxAttempts, the suite budget
+ * and the flakiness history. Each scenario runs RetrySample methods in a separate JVM, so the budget and history
+ * of this run are left untouched; does not need a browser (mvn test -Putils).
+ */
+public class RetryTest {
+
+    /**
+     * Test that an assertion failure fails at once.
+     */
+    @Test
+    public void testAssertionFailureIsNotRetried() throws IOException, InterruptedException {
+        assertSummary(run(Files.createTempDirectory("retry"), List.of("assertionFailure")),
+                "Total tests run: 1, Passes: 0, Failures: 1, Skips: 0");
+    }
+
+    /**
+     * Test that a transient exception found in the cause chain is retried.
+     */
+    @Test
+    public void testTransientCauseIsRetried() throws IOException, InterruptedException {
+        assertSummary(run(Files.createTempDirectory("retry"), List.of("wrappedTransientFailureOnce")),
+                "Total tests run: 2, Passes: 1, Failures: 0, Skips: 0, Retries: 1");
+    }
+
+    /**
+     * Test that a test is retried at most retryMaxAttempts times.
+     */
+    @Test
+    public void testRetriesStopAtMaxAttempts() throws IOException, InterruptedException {
+        assertSummary(run(Files.createTempDirectory("retry"), List.of("alwaysTransient"), "retryMaxAttempts=2"),
+                "Total tests run: 3, Passes: 0, Failures: 1, Skips: 0, Retries: 2");
+    }
+
+    /**
+     * Test that the suite budget caps the retries of all tests together.
+     */
+    @Test
+    public void testSuiteBudgetIsShared() throws IOException, InterruptedException {
+        assertSummary(run(Files.createTempDirectory("retry"), List.of("alwaysTransient", "alsoAlwaysTransient"),
+                        "retryMaxAttempts=1", "retrySuiteBudget=1"),
+                "Total tests run: 3, Passes: 0, Failures: 2, Skips: 0, Retries: 1");
+    }
+
+    /**
+     * Test that a test whose retries never recovered in earlier runs is no longer retried.
+     */
+    @Test
+    public void testUnrecoveredHistoryStopsRetries() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("retry");
+        assertSummary(run(directory, List.of("alwaysTransient"), "retryHistoryMinRetries=1"),
+                "Total tests run: 2, Passes: 0, Failures: 1, Skips: 0, Retries: 1");
+        assertSummary(run(directory, List.of("alwaysTransient"), "retryHistoryMinRetries=1"),
+                "Total tests run: 1, Passes: 0, Failures: 1, Skips: 0");
+    }
+
+    /**
+     * Runs RetrySample methods with the suites' listeners, keeping the flakiness history in the directory.
+     */
+    private static String run(Path directory, List<String> methods, String... systemProperties)
+            throws IOException, InterruptedException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("RetrySuite");
+        suite.setListeners(List.of(TestListener.class.getName(), RetryListener.class.getName()));
+        XmlTest test = new XmlTest(suite);
+        test.setName("RetryTest");
+        XmlClass sample = new XmlClass(RetrySample.class);
+        sample.setIncludedMethods(methods.stream().map(XmlInclude::new).toList());
+        test.setXmlClasses(List.of(sample));
+
+        String[] properties = Arrays.copyOf(systemProperties, systemProperties.length + 1);
+        properties[systemProperties.length] = "retryHistoryPath=" + directory.resolve("flakiness-history.json");
+        return ForkedTestNG.run(suite, directory, properties);
+    }
+
+    private static void assertSummary(String output, String summary) {
+        assertTrue(output.contains(summary + "\n") || output.contains(summary + "\r"),
+                "Expected '" + summary + "':\n" + output);
+    }
+}
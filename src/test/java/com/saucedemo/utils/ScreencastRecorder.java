@@ -0,0 +1,253 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the browser with the Chrome DevTools Page.startScreencast command while a test runs.
+ * Frames are streamed by the browser as JPEG, thinned to screencastFps (by the browser through everyNthFrame, then
+ * by arrival time, as the page does not render at a steady rate) and kept in a bounded in-memory buffer of
+ * screencastMaxFrames; nothing is written for passing tests. For a failed or retried test the buffer is encoded
+ * into an animated GIF on the screenshot writer pool and attached to the report.
+ * Only Chromium-based browsers support the screencast; for others the recorder stays inactive.
+ */
+public class ScreencastRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreencastRecorder.class);
+    private static final ThreadLocal<ScreencastRecorder> recorder = new ThreadLocal<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    // Rate at which Chrome's compositor produces screencast frames while the page changes
+    private static final int BROWSER_FRAMES_PER_SECOND = 60;
+
+    private final DevTools devTools;
+    private final long frameIntervalNanos;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private long lastFrameNanos = 0;
+
+    /**
+     * A frame received from the browser, with the System.nanoTime at which it arrived.
+     */
+    private record Frame(long receivedNanos, byte[] jpeg) {
+    }
+
+    private ScreencastRecorder(DevTools devTools) {
+        this.devTools = devTools;
+        this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, ConfigReader.getScreencastFps());
+    }
+
+    /**
+     * Starts recording the given driver on the current thread.
+     *
+     * @param driver The undecorated WebDriver instance.
+     */
+    public static void start(WebDriver driver) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            logger.info("Screencast recording is not supported by this browser.");
+            return;
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            ScreencastRecorder screencast = new ScreencastRecorder(devTools);
+            devTools.addListener(new Event<Map<String, Object>>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE)),
+                    screencast::onFrame);
+            devTools.send(new Command<>("Page.startScreencast", Map.of(
+                    "format", "jpeg",
+                    "quality", ConfigReader.getScreencastQuality(),
+                    "maxWidth", ConfigReader.getScreencastMaxWidth(),
+                    "maxHeight", ConfigReader.getScreencastMaxHeight(),
+                    "everyNthFrame", everyNthFrame())));
+            recorder.set(screencast);
+            logger.info("Screencast recording started.");
+        } catch (Exception e) {
+            logger.warn("Failed to start screencast recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many compositor frames the browser skips between screencast frames, so it encodes and sends
+     * roughly screencastFps frames per second instead of every frame.
+     */
+    private static int everyNthFrame() {
+        return Math.max(1, BROWSER_FRAMES_PER_SECOND / Math.max(1, ConfigReader.getScreencastFps()));
+    }
+
+    /**
+     * Handles a frame on the DevTools connection thread: acknowledges it so the browser keeps streaming,
+     * and buffers it unless it arrived sooner than the configured frame rate allows.
+     */
+    private void onFrame(Map<String, Object> frame) {
+        devTools.send(new Command<Void>("Page.screencastFrameAck", Map.of("sessionId", frame.get("sessionId")))
+                .doesNotSendResponse());
+        long now = System.nanoTime();
+        synchronized (frames) {
+            if (lastFrameNanos != 0 && now - lastFrameNanos < frameIntervalNanos) {
+                return;
+            }
+            lastFrameNanos = now;
+            frames.addLast(new Frame(now, Base64.getDecoder().decode((String) frame.get("data"))));
+            while (frames.size() > ConfigReader.getScreencastMaxFrames()) {
+                frames.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Discards the frames recorded so far on the current thread, so the next test starts with an empty buffer.
+     */
+    public static void reset() {
+        ScreencastRecorder screencast = recorder.get();
+        if (screencast != null) {
+            synchronized (screencast.frames) {
+                screencast.frames.clear();
+            }
+        }
+    }
+
+    /**
+     * Encodes the frames recorded on the current thread into an animated GIF in the background and clears them.
+     *
+     * @param name The name to be used for the file.
+     * @return The path the recording is written to, or null if nothing was recorded.
+     */
+    public static String save(String name) {
+        ScreencastRecorder screencast = recorder.get();
+        if (screencast == null) {
+            return null;
+        }
+        List<Frame> recorded;
+        synchronized (screencast.frames) {
+            recorded = new ArrayList<>(screencast.frames);
+            screencast.frames.clear();
+        }
+        if (recorded.isEmpty()) {
+            return null;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path path = Paths.get(ConfigReader.getScreenshotPath(),
+                name + "_" + timestamp + "_" + sequence.incrementAndGet() + ".gif");
+        ScreenshotUtil.runInBackground(() -> writeAnimation(path, recorded));
+        logger.info("Saving screencast of {} frames to {}", recorded.size(), path);
+        return path.toString();
+    }
+
+    /**
+     * Stops recording on the current thread. Must be called before the driver quits.
+     */
+    public static void stop() {
+        ScreencastRecorder screencast = recorder.get();
+        recorder.remove();
+        if (screencast == null) {
+            return;
+        }
+        try {
+            screencast.devTools.send(new Command<>("Page.stopScreencast", Map.of()));
+            screencast.devTools.clearListeners();
+        } catch (Exception e) {
+            logger.debug("Failed to stop screencast recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the frames as a looping animated GIF, using the real gaps between frames as delays.
+     */
+    private static void writeAnimation(Path path, List<Frame> recorded) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try {
+            Files.createDirectories(path.getParent());
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(new File(path.toString()))) {
+                writer.setOutput(output);
+                writer.prepareWriteSequence(null);
+                for (int index = 0; index < recorded.size(); index++) {
+                    BufferedImage image = ImageIO.read(new ByteArrayInputStream(recorded.get(index).jpeg()));
+                    if (image == null) {
+                        continue;
+                    }
+                    long gapNanos = index + 1 < recorded.size()
+                            ? recorded.get(index + 1).receivedNanos() - recorded.get(index).receivedNanos()
+                            : TimeUnit.SECONDS.toNanos(1);
+                    int delayCentiseconds = (int) Math.max(1, Math.min(6000, gapNanos / 10_000_000));
+                    IIOMetadata metadata = frameMetadata(writer, image, delayCentiseconds, index == 0);
+                    writer.writeToSequence(new IIOImage(image, null, metadata), null);
+                }
+                writer.endWriteSequence();
+            }
+            logger.info("Screencast saved successfully at: {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to save screencast: {}", e.getMessage(), e);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Builds GIF frame metadata with the frame delay and, on the first frame, the looping extension.
+     */
+    private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, int delayCentiseconds,
+                                             boolean first) throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", String.valueOf(delayCentiseconds));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[]{1, 0, 0}); // Loop forever
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeName().equals(name)) {
+                return (IIOMetadataNode) node;
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        parent.appendChild(node);
+        return node;
+    }
+}
@@ -0,0 +1,114 @@
+package com.saucedemo.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Utility class that re-encodes PNG screenshots from the driver according to the screenshot settings:
+ * <ul>
+ *   <li>screenshotFormat - png or jpg</li>
+ *   <li>screenshotPngCompressionLevel - deflate level 0-9 for png, or -1 to keep the driver's bytes</li>
+ *   <li>screenshotJpegQuality - quality 1-100 for jpg</li>
+ *   <li>screenshotMaxDimension - longest side in pixels after downscaling, or 0 to keep the original size</li>
+ * </ul>
+ */
+public class ScreenshotEncoder {
+
+    /**
+     * Returns the file extension of the configured format.
+     */
+    public static String getFileExtension() {
+        return getFormat();
+    }
+
+    /**
+     * Encodes a PNG screenshot in the configured format and size.
+     *
+     * @param png The PNG bytes returned by the driver.
+     * @return The encoded image bytes.
+     * @throws IOException if the image cannot be decoded or encoded.
+     */
+    public static byte[] encode(byte[] png) throws IOException {
+        String format = getFormat();
+        int maxDimension = ConfigReader.getScreenshotMaxDimension();
+        int pngLevel = ConfigReader.getScreenshotPngCompressionLevel();
+        if ("png".equals(format) && maxDimension <= 0 && pngLevel < 0) {
+            return png;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable PNG image.");
+        }
+        image = scale(image, maxDimension, "jpg".equals(format));
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer available for format: " + format);
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if ("jpg".equals(format)) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.clamp(ConfigReader.getScreenshotJpegQuality(), 1, 100) / 100f);
+        } else if (pngLevel >= 0) {
+            // The PNG writer maps quality 1.0 to no compression and 0.0 to the best compression
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(1f - Math.clamp(pngLevel, 0, 9) / 9f);
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(png.length / 4);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(encoded)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Downscales the image so its longest side is at most maxDimension. JPEG needs an image without alpha,
+     * so the image is also redrawn as RGB when opaque output is required.
+     */
+    private static BufferedImage scale(BufferedImage image, int maxDimension, boolean opaque) {
+        int longestSide = Math.max(image.getWidth(), image.getHeight());
+        double ratio = maxDimension > 0 && longestSide > maxDimension ? (double) maxDimension / longestSide : 1.0;
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        if (ratio == 1.0 && !(opaque && hasAlpha)) {
+            return image;
+        }
+
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height,
+                opaque || !hasAlpha ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static String getFormat() {
+        String format = ConfigReader.getScreenshotFormat().toLowerCase();
+        return switch (format) {
+            case "png" -> "png";
+            case "jpg", "jpeg" -> "jpg";
+            default -> throw new IllegalArgumentException("Unsupported screenshot format: " + format);
+        };
+    }
+}
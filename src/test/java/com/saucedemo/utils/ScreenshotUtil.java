@@ -3,52 +3,182 @@ package com.saucedemo.utils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for capturing screenshots during test execution.
+ *
+ * Only the capture itself runs on the calling thread: the screenshot is taken as the Base64 payload returned by
+ * the driver, and decoding and writing happen on a bounded background executor. The file path is returned
+ * immediately. When the queue is full the calling thread writes the screenshot itself, which bounds the memory
+ * held by pending screenshots.
+ *
+ * Screenshots are re-encoded by ScreenshotEncoder (format, compression and size are configurable) and
+ * deduplicated by content hash: a frame identical to one already saved or being saved in this run returns the
+ * existing file's path, so report attachments of repeated failures share one file. A frame whose write fails is
+ * forgotten, so the next identical frame is written again. A frame that cannot be re-encoded is saved as the
+ * driver's PNG, under a .png name next to the announced path.
  */
 public class ScreenshotUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtil.class);
 
+    // Distinguishes screenshots taken with the same name in the same second, e.g. by parallel data-provider rows
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final Set<CompletableFuture<Void>> pendingWrites = ConcurrentHashMap.newKeySet();
+    // Content hash of every saved frame, mapped to the file it was saved to
+    private static final Map<String, String> savedFrames = new ConcurrentHashMap<>();
+    private static final ThreadPoolExecutor writer = createWriter();
+
+    /**
+     * Creates the background executor that writes screenshots to disk.
+     */
+    private static ThreadPoolExecutor createWriter() {
+        int threads = ConfigReader.getScreenshotWriterThreads();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getScreenshotQueueCapacity()),
+                Thread.ofPlatform().name("screenshot-writer-", 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
-     * Captures a screenshot and saves it to the specified location.
+     * Captures a screenshot and saves it to the specified location in the background.
      *
      * @param driver         The WebDriver instance.
      * @param screenshotName The name to be used for the screenshot file.
-     * @return The file path where the screenshot is saved.
+     * @return The file path where the screenshot is being saved.
      */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
         String screenshotPath = ConfigReader.getScreenshotPath();
         String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = screenshotName + "_" + timestamp + ".png";
+        String fileName = screenshotName + "_" + timestamp + "_" + sequence.incrementAndGet()
+                + "." + ScreenshotEncoder.getFileExtension();
         String filePath = screenshotPath + File.separator + fileName;
 
         logger.info("Attempting to capture screenshot: {}", fileName);
 
+        String base64Screenshot;
         try {
-            // Take screenshot
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-
-            // Save the screenshot to the specified path
-            FileUtils.copyFile(screenshot, new File(filePath));
-            logger.info("Screenshot saved successfully at: {}", filePath);
-        } catch (IOException e) {
-            logger.error("Failed to save screenshot: {}", e.getMessage(), e);
-            throw new RuntimeException("Error while saving screenshot: " + filePath, e);
+            base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
         } catch (Exception e) {
             logger.error("Unexpected error occurred while capturing screenshot: {}", e.getMessage(), e);
             throw new RuntimeException("Unexpected error while capturing screenshot", e);
         }
 
+        String hash = contentHash(base64Screenshot);
+        String existingPath = savedFrames.putIfAbsent(hash, filePath);
+        if (existingPath != null) {
+            logger.info("Screenshot identical to {}; reusing it.", existingPath);
+            return existingPath;
+        }
+
+        runInBackground(() -> {
+            try {
+                String savedPath = writeScreenshot(base64Screenshot, filePath);
+                savedFrames.replace(hash, filePath, savedPath);
+            } catch (RuntimeException e) {
+                savedFrames.remove(hash, filePath);
+                throw e;
+            }
+        });
         return filePath;
     }
+
+    /**
+     * Runs a write task on the screenshot writer pool. awaitPendingWrites waits for it.
+     *
+     * @param task The task to run.
+     */
+    public static void runInBackground(Runnable task) {
+        // Registered before it is submitted: with a full queue the task runs, and completes, inside execute
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        pendingWrites.add(write);
+        write.whenComplete((ignored, error) -> pendingWrites.remove(write));
+        writer.execute(() -> {
+            try {
+                task.run();
+                write.complete(null);
+            } catch (Throwable t) {
+                write.completeExceptionally(t);
+            }
+        });
+    }
+
+    /**
+     * Returns the SHA-256 hash of a screenshot payload as a hex string.
+     */
+    private static String contentHash(String base64Screenshot) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(base64Screenshot.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Decodes and re-encodes a screenshot and writes it to disk. If it cannot be re-encoded, the driver's PNG is
+     * written instead, with a .png extension.
+     *
+     * @return The path the screenshot was written to.
+     */
+    private static String writeScreenshot(String base64Screenshot, String filePath) {
+        byte[] image = Base64.getDecoder().decode(base64Screenshot);
+        String savedPath = filePath;
+        try {
+            image = ScreenshotEncoder.encode(image);
+        } catch (IOException e) {
+            if (!filePath.endsWith(".png")) {
+                savedPath = filePath.substring(0, filePath.lastIndexOf('.')) + ".png";
+            }
+            logger.warn("Failed to encode screenshot, saving the original PNG at {}: {}", savedPath, e.getMessage());
+        }
+        Path path = Paths.get(savedPath);
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, image);
+            logger.info("Screenshot saved successfully at: {}", savedPath);
+            return savedPath;
+        } catch (IOException e) {
+            logger.error("Failed to save screenshot: {}", e.getMessage(), e);
+            throw new RuntimeException("Error while saving screenshot: " + savedPath, e);
+        }
+    }
+
+    /**
+     * Waits until every screenshot captured so far has been written.
+     */
+    public static void awaitPendingWrites() {
+        for (CompletableFuture<Void> write : pendingWrites) {
+            try {
+                write.join();
+            } catch (Exception e) {
+                // Already logged by the writer
+            }
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight DOM session replay. A small recorder (session-replay/recorder.js) is injected into the page by
+ * SessionReplayListener after every page-changing driver call; it keeps a DOM snapshot plus mutations, inputs,
+ * clicks and scrolls in browser memory, bounded by sessionReplayMaxEvents per page. Nothing leaves the browser until a test fails, when the
+ * buffer is pulled and written as a self-contained replay page (session-replay/player.html with the recording
+ * embedded) under screenshotPath/session-replay.
+ */
+public class SessionReplay {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReplay.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String RECORDER_SCRIPT = readResource("session-replay/recorder.js");
+    private static final String PLAYER_TEMPLATE = readResource("session-replay/player.html");
+    private static final String EXPORT_SCRIPT = "return window.__sdReplay ? window.__sdReplay.export() : null;";
+    private static final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Installs the recorder in the current page unless it is already running there.
+     *
+     * @param driver The undecorated WebDriver instance, so the injection is not recorded itself.
+     */
+    public static void install(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(RECORDER_SCRIPT, ConfigReader.getSessionReplayMaxEvents());
+        } catch (Exception e) {
+            logger.debug("Session replay recorder could not be installed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pulls the recording from the browser and writes it as a replay page in the background.
+     *
+     * @param driver The WebDriver instance of the failed test.
+     * @param name   The name of the failed test.
+     * @return The path of the replay page, or null if nothing was recorded.
+     */
+    public static String save(WebDriver driver, String name) {
+        Object recording;
+        try {
+            recording = ((JavascriptExecutor) driver).executeScript(EXPORT_SCRIPT);
+        } catch (Exception e) {
+            logger.warn("Failed to pull the session replay: {}", e.getMessage());
+            return null;
+        }
+        if (!(recording instanceof String json)) {
+            return null;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path path = Paths.get(ConfigReader.getScreenshotPath(), "session-replay",
+                name + "_" + timestamp + "_" + sequence.incrementAndGet() + ".html");
+        ScreenshotUtil.runInBackground(() -> writeReplay(path, name, json));
+        return path.toString();
+    }
+
+    private static void writeReplay(Path path, String name, String json) {
+        try {
+            ObjectNode replay = (ObjectNode) MAPPER.readTree(json);
+            replay.put("name", name);
+            // Keep the embedded data from closing the script element
+            String data = MAPPER.writeValueAsString(replay).replace("</", "<\\/");
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, PLAYER_TEMPLATE.replace("/*REPLAY_DATA*/null", data), StandardCharsets.UTF_8);
+            logger.info("Session replay saved successfully at: {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to save session replay: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream inputStream = SessionReplay.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IOException("Resource not found on classpath: " + resource);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load session replay resource: " + resource, e);
+        }
+    }
+}
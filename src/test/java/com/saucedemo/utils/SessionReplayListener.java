@@ -0,0 +1,34 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * WebDriverListener that installs the session replay recorder after calls that can load a new page.
+ * One listener is created per driver, holding the undecorated driver so the injection is not recorded itself.
+ */
+public class SessionReplayListener implements WebDriverListener {
+
+    private static final Set<String> PAGE_CHANGING_CALLS = Set.of("click", "submit", "get", "to", "back", "forward", "refresh");
+
+    private final WebDriver driver;
+
+    /**
+     * Constructor for SessionReplayListener.
+     *
+     * @param driver The undecorated WebDriver instance.
+     */
+    public SessionReplayListener(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (PAGE_CHANGING_CALLS.contains(method.getName())) {
+            SessionReplay.install(driver);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps only the test methods of this shard when a run is split across JVMs (shard.total greater than 1).
+ * Every shard computes the same partition independently: methods, with all their data-provider rows, are sorted
+ * by their DurationHistory estimate (longest first, then by name) and each goes to the shard with the least
+ * expected time so far. The partition is therefore deterministic as long as all shards read the same
+ * duration history, and the shards finish at about the same time.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.isSharded()) {
+            return methods;
+        }
+        int shardTotal = ConfigReader.getShardTotal();
+        int shardIndex = ConfigReader.getShardIndex();
+
+        Map<String, Long> methodMillis = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            methodMillis.putIfAbsent(method.getQualifiedName(), DurationHistory.estimateMillis(method));
+        }
+        Map<String, Integer> assignment = partition(methodMillis, shardTotal);
+        long[] shardMillis = new long[shardTotal];
+        assignment.forEach((name, shard) -> shardMillis[shard] += methodMillis.get(name));
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            if (assignment.get(instance.getMethod().getQualifiedName()) == shardIndex) {
+                selected.add(instance);
+            }
+        }
+        logger.info("Shard {} of {} in '{}': {} of {} test methods, expected {} ms (shards: {} ms)",
+                shardIndex, shardTotal, context.getName(),
+                assignment.values().stream().filter(shard -> shard == shardIndex).count(), assignment.size(),
+                shardMillis[shardIndex], Arrays.toString(shardMillis));
+        return selected;
+    }
+
+    /**
+     * Assigns every method to a shard: longest first (then by name), each to the shard with the least expected time.
+     *
+     * @param methodMillis The expected time of every method, by qualified name.
+     * @param shardTotal   The number of shards.
+     * @return The shard index of every method.
+     */
+    static Map<String, Integer> partition(Map<String, Long> methodMillis, int shardTotal) {
+        List<String> names = new ArrayList<>(methodMillis.keySet());
+        names.sort(Comparator.comparing((String name) -> methodMillis.get(name)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] shardMillis = new long[shardTotal];
+        Map<String, Integer> assignment = new LinkedHashMap<>();
+        for (String name : names) {
+            int target = 0;
+            for (int shard = 1; shard < shardTotal; shard++) {
+                if (shardMillis[shard] < shardMillis[target]) {
+                    target = shard;
+                }
+            }
+            shardMillis[target] += methodMillis.get(name);
+            assignment.put(name, target);
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,19 @@
+package com.saucedemo.utils;
+
+import java.nio.file.Paths;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * ShardMergeListener runs the ShardMerger for the run selected by shard.runId.
+ * It is the only listener of test-suites/testng-merge.xml, which has no tests, so
+ * mvn test -Pmerge-shards merges the shards of a run without opening a browser.
+ */
+public class ShardMergeListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        ShardMerger.merge(Paths.get(ConfigReader.getShardRunDirectory()));
+    }
+}
@@ -0,0 +1,223 @@
+package com.saucedemo.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Combines the artifacts of a sharded run into shardPath/shard.runId/merged. Every shard leaves a manifest
+ * (shard.json) in its directory; the merge finds the shards through it and writes:
+ * - ExtentReport.html, rebuilt from the shards' Extent JSON archives;
+ * - screenshots/shard-&lt;index&gt;, a copy of each shard's screenshots, with the report pointing at the copies;
+ * - timings.jsonl, the shards' timing streams with a shard field on every line.
+ * The shards' flakiness and duration histories are folded back into retryHistoryPath and durationHistoryPath,
+ * so the next run is balanced with them.
+ */
+public class ShardMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardMerger.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final ObjectMapper LINE_MAPPER = new ObjectMapper();
+    private static final String MANIFEST = "shard.json";
+
+    /**
+     * What a shard records about itself: its place in the run and where it wrote its artifacts.
+     */
+    public record Manifest(int index, int total, String runId, String reportPath, String screenshotPath) {
+    }
+
+    /**
+     * Writes the manifest of the current shard to its directory.
+     */
+    public static void writeManifest() {
+        Path path = Paths.get(ConfigReader.getShardDirectory(), MANIFEST);
+        Manifest manifest = new Manifest(ConfigReader.getShardIndex(), ConfigReader.getShardTotal(),
+                ConfigReader.getShardRunId(), ConfigReader.getReportPath(), ConfigReader.getScreenshotPath());
+        try {
+            Files.createDirectories(path.getParent());
+            MAPPER.writeValue(path.toFile(), manifest);
+            logger.info("Shard {} of {} writes its artifacts to {}", manifest.index(), manifest.total(), path.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write shard manifest: " + path, e);
+        }
+    }
+
+    /**
+     * Merges the shards found in a run directory.
+     *
+     * @param runDirectory The directory holding the shard-&lt;index&gt; directories of one run.
+     */
+    public static void merge(Path runDirectory) {
+        Map<Path, Manifest> shards = findShards(runDirectory);
+        if (shards.isEmpty()) {
+            logger.error("No shards found in {}", runDirectory);
+            return;
+        }
+        int total = shards.values().iterator().next().total();
+        if (shards.size() != total) {
+            logger.error("Found {} of {} shards in {}; the merged report is incomplete.", shards.size(), total, runDirectory);
+        }
+
+        Path mergedDirectory = runDirectory.resolve("merged");
+        Path reportFile = mergedDirectory.resolve("ExtentReport.html");
+        List<Path> flakinessHistories = new ArrayList<>();
+        List<Path> durationHistories = new ArrayList<>();
+        try {
+            Files.createDirectories(mergedDirectory);
+            ExtentReports reports = new ExtentReports();
+            reports.attachReporter(ExtentReportSink.createSparkReporter(reportFile.toString()));
+            try (BufferedWriter timings = Files.newBufferedWriter(mergedDirectory.resolve("timings.jsonl"))) {
+                for (Map.Entry<Path, Manifest> shard : shards.entrySet()) {
+                    Path shardDirectory = shard.getKey();
+                    Manifest manifest = shard.getValue();
+                    Path reportDirectory = shardDirectory.resolve(Paths.get(manifest.reportPath()).getFileName());
+                    String screenshots = "screenshots/shard-" + manifest.index();
+
+                    copyTree(shardDirectory.resolve(Paths.get(manifest.screenshotPath()).getFileName()),
+                            mergedDirectory.resolve(screenshots));
+                    for (Path archive : list(reportDirectory, "ExtentReport_", ".json")) {
+                        loadArchive(reports, archive, manifest.screenshotPath(), screenshots);
+                    }
+                    for (Path timingFile : list(reportDirectory, "timings_", ".jsonl")) {
+                        appendTimings(timings, timingFile, manifest.index());
+                    }
+                    flakinessHistories.add(shardDirectory.resolve(Paths.get(ConfigReader.getRetryHistoryPath()).getFileName()));
+                    durationHistories.add(shardDirectory.resolve(Paths.get(ConfigReader.getDurationHistoryPath()).getFileName()));
+                    logger.info("Merged shard {} from {}", manifest.index(), shardDirectory);
+                }
+            }
+            reports.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge shards of " + runDirectory, e);
+        }
+
+        FlakinessHistory.mergeShards(flakinessHistories);
+        FlakinessHistory.save();
+        DurationHistory.mergeShards(durationHistories);
+        DurationHistory.save();
+        logger.info("Merged report of {} shards written to {}", shards.size(), reportFile);
+    }
+
+    /**
+     * Returns the manifests of the shards in a run directory, by shard index.
+     */
+    private static Map<Path, Manifest> findShards(Path runDirectory) {
+        Map<Path, Manifest> shards = new LinkedHashMap<>();
+        if (!Files.isDirectory(runDirectory)) {
+            return shards;
+        }
+        List<Map.Entry<Path, Manifest>> found = new ArrayList<>();
+        try (Stream<Path> directories = Files.list(runDirectory)) {
+            for (Path directory : directories.filter(path -> Files.isRegularFile(path.resolve(MANIFEST))).toList()) {
+                found.add(Map.entry(directory, MAPPER.readValue(directory.resolve(MANIFEST).toFile(), Manifest.class)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read shard manifests in " + runDirectory, e);
+        }
+        found.sort(Comparator.comparingInt(shard -> shard.getValue().index()));
+        found.forEach(shard -> shards.put(shard.getKey(), shard.getValue()));
+        return shards;
+    }
+
+    /**
+     * Returns the files of a directory with the given name prefix and extension, sorted by name.
+     */
+    private static List<Path> list(Path directory, String prefix, String extension) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(extension);
+            }).sorted().toList();
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Path copy = target.resolve(source.relativize(file).toString());
+                Files.createDirectories(copy.getParent());
+                Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Adds the tests of an Extent JSON archive to the merged report, pointing their screenshots at the merged copies.
+     */
+    private static void loadArchive(ExtentReports reports, Path archive, String screenshotPath, String screenshots)
+            throws IOException {
+        JsonNode tests = MAPPER.readTree(archive.toFile());
+        rewritePaths(tests, screenshotPath, screenshots);
+        Path rewritten = Files.createTempFile("extent-archive", ".json");
+        try {
+            MAPPER.writeValue(rewritten.toFile(), tests);
+            reports.createDomainFromJsonArchive(rewritten.toFile());
+        } finally {
+            Files.deleteIfExists(rewritten);
+        }
+    }
+
+    /**
+     * Replaces the shard's screenshot directory in every text value, such as media paths and logged links.
+     */
+    private static void rewritePaths(JsonNode node, String from, String to) {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                if (field.getValue().isTextual() && field.getValue().asText().contains(from)) {
+                    object.put(field.getKey(), field.getValue().asText().replace(from, to));
+                } else {
+                    rewritePaths(field.getValue(), from, to);
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                if (array.get(i).isTextual() && array.get(i).asText().contains(from)) {
+                    array.set(i, array.get(i).asText().replace(from, to));
+                } else {
+                    rewritePaths(array.get(i), from, to);
+                }
+            }
+        }
+    }
+
+    private static void appendTimings(BufferedWriter timings, Path timingFile, int shardIndex) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(timingFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ObjectNode span = (ObjectNode) LINE_MAPPER.readTree(line);
+                span.put("shard", shardIndex);
+                timings.write(LINE_MAPPER.writeValueAsString(span));
+                timings.newLine();
+            }
+        }
+    }
+}
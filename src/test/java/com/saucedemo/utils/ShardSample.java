@@ -0,0 +1,25 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+
+/**
+ * Sample tests for ShardTest, split across shards run in separate JVMs. Not part of any suite.
+ */
+public class ShardSample {
+
+    @Test
+    public void shardSampleAlpha() {
+    }
+
+    @Test
+    public void shardSampleBravo() {
+    }
+
+    @Test
+    public void shardSampleCharlie() {
+    }
+
+    @Test
+    public void shardSampleDelta() {
+    }
+}
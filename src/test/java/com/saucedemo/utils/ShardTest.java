@@ -0,0 +1,123 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Checks sharding: the partition of methods across shards, and a two-shard run of ShardSample merged into one
+ * report. The shards and the merge run in separate JVMs in a temporary directory; does not need a browser
+ * (mvn test -Putils).
+ */
+public class ShardTest {
+
+    private static final List<String> SAMPLE_METHODS =
+            List.of("shardSampleAlpha", "shardSampleBravo", "shardSampleCharlie", "shardSampleDelta");
+
+    /**
+     * Test that every method goes to exactly one shard, the longest first to the least loaded shard, whatever the
+     * order the methods come in.
+     */
+    @Test
+    public void testPartitionBalancesShards() {
+        Map<String, Long> methodMillis = new LinkedHashMap<>();
+        methodMillis.put("a", 9000L);
+        methodMillis.put("b", 5000L);
+        methodMillis.put("c", 4000L);
+        methodMillis.put("d", 3000L);
+        methodMillis.put("e", 3000L);
+        methodMillis.put("f", 1000L);
+        Map<String, Integer> assignment = ShardInterceptor.partition(methodMillis, 2);
+
+        assertEquals(assignment.keySet(), methodMillis.keySet());
+        long[] shardMillis = new long[2];
+        assignment.forEach((name, shard) -> shardMillis[shard] += methodMillis.get(name));
+        assertEquals(shardMillis[0], 13000L);
+        assertEquals(shardMillis[1], 12000L);
+
+        List<Map.Entry<String, Long>> reversed = new ArrayList<>(methodMillis.entrySet());
+        Collections.reverse(reversed);
+        Map<String, Long> reordered = new LinkedHashMap<>();
+        reversed.forEach(entry -> reordered.put(entry.getKey(), entry.getValue()));
+        assertEquals(ShardInterceptor.partition(reordered, 2), assignment, "The partition depends on the input order.");
+    }
+
+    /**
+     * Test that a partition with more shards than methods leaves the extra shards empty.
+     */
+    @Test
+    public void testPartitionWithMoreShardsThanMethods() {
+        Map<String, Long> methodMillis = new HashMap<>(Map.of("a", 1000L, "b", 1000L));
+        Map<String, Integer> assignment = ShardInterceptor.partition(methodMillis, 4);
+        assertEquals(assignment.get("a"), Integer.valueOf(0));
+        assertEquals(assignment.get("b"), Integer.valueOf(1));
+    }
+
+    /**
+     * Test that two shards run disjoint halves of the sample, and the merge rebuilds one report with every test and
+     * tags every timing line with its shard.
+     */
+    @Test
+    public void testShardsAreMerged() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("shards");
+        List<String> shardReports = new ArrayList<>();
+        for (int shard = 0; shard < 2; shard++) {
+            XmlSuite suite = new XmlSuite();
+            suite.setName("Shard" + shard);
+            suite.setListeners(List.of(TestListener.class.getName(), ShardInterceptor.class.getName()));
+            XmlTest test = new XmlTest(suite);
+            test.setName("ShardTest");
+            test.setXmlClasses(List.of(new XmlClass(ShardSample.class)));
+            String output = ForkedTestNG.run(suite, directory, "shard.total=2", "shard.index=" + shard,
+                    "shard.runId=test");
+            assertTrue(output.contains("Total tests run: 2, Passes: 2"), "Shard " + shard + " did not run half:\n" + output);
+            shardReports.add(readFiles(directory.resolve("target/shards/test/shard-" + shard + "/reports"), ".html"));
+        }
+        for (String method : SAMPLE_METHODS) {
+            assertTrue(shardReports.get(0).contains(method) != shardReports.get(1).contains(method),
+                    method + " did not run on exactly one shard.");
+        }
+
+        XmlSuite merge = new XmlSuite();
+        merge.setName("MergeShards");
+        merge.setListeners(List.of(ShardMergeListener.class.getName()));
+        ForkedTestNG.run(merge, directory, "shard.runId=test");
+
+        Path merged = directory.resolve("target/shards/test/merged");
+        String report = Files.readString(merged.resolve("ExtentReport.html"));
+        for (String method : SAMPLE_METHODS) {
+            assertTrue(report.contains(method), method + " is missing from the merged report.");
+        }
+        List<String> timings = Files.readAllLines(merged.resolve("timings.jsonl"));
+        assertFalse(timings.isEmpty(), "The merged timings are empty.");
+        for (String line : timings) {
+            assertTrue(line.matches(".*\"shard\":[01].*"), "A timing line has no shard: " + line);
+        }
+    }
+
+    private static String readFiles(Path directory, String extension) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(extension)).toList()) {
+                content.append(Files.readString(file));
+            }
+        }
+        return content.toString();
+    }
+}
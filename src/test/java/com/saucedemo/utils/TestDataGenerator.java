@@ -0,0 +1,234 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates large synthetic test data files in the testdata.json schema for scale runs.
+ * Records are written one at a time through a streaming generator, so memory use is independent of row count.
+ *
+ * Settings are read from system properties:
+ * <ul>
+ *   <li>generator.output - output file (default target/generated/testdata-large.json)</li>
+ *   <li>generator.users - number of valid users (default 100000)</li>
+ *   <li>generator.validUsernames - accounts the valid users cycle through (default standard_user); the other demo
+ *   accounts break the cart, checkout or images on purpose, so rows using them fail the cart and checkout tests</li>
+ *   <li>generator.checkoutDetails - number of checkout rows, split into valid and invalid (default 100000)</li>
+ *   <li>generator.invalidRatio - fraction of checkout rows and of users that are invalid (default 0.25)</li>
+ *   <li>generator.invalidFieldWeights - relative weights of the first blank field: firstName,lastName,postalCode (default 1,1,1)</li>
+ *   <li>generator.nameLength - length of generated names (default 12)</li>
+ *   <li>generator.seed - random seed (default 42)</li>
+ * </ul>
+ * Products are copied from the configured test data file, since they must match the real catalog.
+ */
+public class TestDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDataGenerator.class);
+
+    private static final String VALID_PASSWORD = "secret_sauce";
+    private static final String[] CHECKOUT_FIELDS = {"firstName", "lastName", "postalCode"};
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final int users;
+    private final List<String> validUsernames;
+    private final int checkoutDetails;
+    private final double invalidRatio;
+    private final double[] invalidFieldWeights;
+    private final int nameLength;
+    private final long seed;
+
+    /**
+     * Constructor for TestDataGenerator.
+     *
+     * @param users               Number of valid users.
+     * @param validUsernames      Accounts the valid users cycle through.
+     * @param checkoutDetails     Number of checkout rows, split into valid and invalid.
+     * @param invalidRatio        Fraction of checkout rows and of users that are invalid.
+     * @param invalidFieldWeights Relative weights of the first blank field (firstName, lastName, postalCode).
+     * @param nameLength          Length of generated names.
+     * @param seed                Random seed, so the same settings always produce the same file.
+     */
+    public TestDataGenerator(int users, List<String> validUsernames, int checkoutDetails, double invalidRatio, double[] invalidFieldWeights,
+                             int nameLength, long seed) {
+        if (invalidRatio < 0 || invalidRatio > 1) {
+            throw new IllegalArgumentException("Invalid ratio must be between 0 and 1, was: " + invalidRatio);
+        }
+        if (validUsernames.isEmpty()) {
+            throw new IllegalArgumentException("At least one valid username is required.");
+        }
+        if (invalidFieldWeights.length != CHECKOUT_FIELDS.length) {
+            throw new IllegalArgumentException("Expected " + CHECKOUT_FIELDS.length + " invalid field weights.");
+        }
+        this.users = users;
+        this.validUsernames = List.copyOf(validUsernames);
+        this.checkoutDetails = checkoutDetails;
+        this.invalidRatio = invalidRatio;
+        this.invalidFieldWeights = invalidFieldWeights.clone();
+        this.nameLength = nameLength;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a dataset using the settings from system properties.
+     */
+    public static void main(String[] args) throws IOException {
+        String[] weights = System.getProperty("generator.invalidFieldWeights", "1,1,1").split(",");
+        double[] invalidFieldWeights = new double[weights.length];
+        for (int index = 0; index < weights.length; index++) {
+            invalidFieldWeights[index] = Double.parseDouble(weights[index].trim());
+        }
+
+        TestDataGenerator generator = new TestDataGenerator(
+                Integer.getInteger("generator.users", 100_000),
+                Arrays.stream(System.getProperty("generator.validUsernames", "standard_user").split(","))
+                        .map(String::trim)
+                        .filter(username -> !username.isEmpty())
+                        .toList(),
+                Integer.getInteger("generator.checkoutDetails", 100_000),
+                Double.parseDouble(System.getProperty("generator.invalidRatio", "0.25")),
+                invalidFieldWeights,
+                Integer.getInteger("generator.nameLength", 12),
+                Long.getLong("generator.seed", 42L));
+        generator.generate(Paths.get(System.getProperty("generator.output", "target/generated/testdata-large.json")));
+    }
+
+    /**
+     * Writes the dataset to the given file.
+     *
+     * @param output The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void generate(Path output) throws IOException {
+        logger.info("Generating {} users and {} checkout rows (invalid ratio {}) into {}",
+                users, checkoutDetails, invalidRatio, output);
+        if (output.toAbsolutePath().getParent() != null) {
+            DirectoryUtil.createDirectory(output.toAbsolutePath().getParent().toString());
+        }
+        List<Map<String, String>> products = JsonReader.getJsonDataByKey("products");
+
+        try (JsonGenerator generator = new JsonFactory().createGenerator(output.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            writeValidUsers(generator);
+            writeInvalidUsers(generator);
+            writeRecords(generator, "products", products);
+            writeCheckoutDetails(generator, "validCheckoutDetails", false);
+            writeCheckoutDetails(generator, "invalidCheckoutDetails", true);
+            generator.writeEndObject();
+        }
+        logger.info("Synthetic test data written to {}", output);
+    }
+
+    private void writeValidUsers(JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("validUsers");
+        for (int index = 0; index < users; index++) {
+            writeUser(generator, validUsernames.get(index % validUsernames.size()), VALID_PASSWORD);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeInvalidUsers(JsonGenerator generator) throws IOException {
+        Random random = new Random(seed);
+        int invalidUsers = (int) Math.round(users * invalidRatio);
+        generator.writeArrayFieldStart("invalidUsers");
+        for (int index = 0; index < invalidUsers; index++) {
+            switch (index % 5) {
+                case 0 -> writeUser(generator, "locked_out_user", VALID_PASSWORD);
+                case 1 -> writeUser(generator, "", "");
+                case 2 -> writeUser(generator, validUsernames.get(0), "");
+                case 3 -> writeUser(generator, "", VALID_PASSWORD);
+                default -> writeUser(generator, randomName(random), randomName(random));
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeUser(JsonGenerator generator, String username, String password) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("username", username);
+        generator.writeStringField("password", password);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the valid or invalid share of the checkout rows. Both passes replay the same seeded sequence,
+     * so each row lands in exactly one of the two arrays without holding the rows in memory.
+     */
+    private void writeCheckoutDetails(JsonGenerator generator, String key, boolean invalid) throws IOException {
+        Random random = new Random(seed + 1);
+        generator.writeArrayFieldStart(key);
+        for (int index = 0; index < checkoutDetails; index++) {
+            boolean rowInvalid = random.nextDouble() < invalidRatio;
+            int firstBlankField = pickInvalidField(random.nextDouble());
+            boolean blankFollowing = random.nextBoolean();
+            String firstName = randomName(random);
+            String lastName = randomName(random);
+            String postalCode = String.format("%05d", random.nextInt(100_000));
+            if (rowInvalid != invalid) {
+                continue;
+            }
+
+            String[] values = {firstName, lastName, postalCode};
+            if (invalid) {
+                values[firstBlankField] = "";
+                if (blankFollowing) {
+                    for (int field = firstBlankField + 1; field < values.length; field++) {
+                        values[field] = "";
+                    }
+                }
+            }
+            generator.writeStartObject();
+            for (int field = 0; field < CHECKOUT_FIELDS.length; field++) {
+                generator.writeStringField(CHECKOUT_FIELDS[field], values[field]);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeRecords(JsonGenerator generator, String key, List<Map<String, String>> records) throws IOException {
+        generator.writeArrayFieldStart(key);
+        for (Map<String, String> record : records) {
+            generator.writeStartObject();
+            for (Map.Entry<String, String> field : record.entrySet()) {
+                generator.writeStringField(field.getKey(), field.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private int pickInvalidField(double sample) {
+        double total = 0;
+        for (double weight : invalidFieldWeights) {
+            total += weight;
+        }
+        double threshold = sample * total;
+        for (int field = 0; field < invalidFieldWeights.length; field++) {
+            threshold -= invalidFieldWeights[field];
+            if (threshold < 0) {
+                return field;
+            }
+        }
+        return invalidFieldWeights.length - 1;
+    }
+
+    private String randomName(Random random) {
+        StringBuilder name = new StringBuilder(nameLength);
+        for (int index = 0; index < nameLength; index++) {
+            char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            name.append(index == 0 ? Character.toUpperCase(letter) : letter);
+        }
+        return name.toString();
+    }
+}
@@ -1,42 +1,56 @@
 package com.saucedemo.utils;
 
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.IConfigurationListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
-import com.saucedemo.basetest.BaseTest;
-
 /**
  * TestListener class implements ITestListener to handle test events and logging.
  * It captures test start, success, failure, and skip events, and logs relevant information.
+ * As an IConfigurationListener it also times setup and teardown methods, and together with the test
+ * and retry timings publishes them to the timing stream, tagged with the data-provider row.
+ * As an IDataProviderInterceptor it numbers the data-provider rows (see DataProviderRows).
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, IConfigurationListener, IDataProviderInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(TestListener.class);
 
+    // Result attribute holding the System.nanoTime at which a test or configuration method started
+    private static final String START_NANOS = "timing.startNanos";
+
     /**
      * Called when a test starts.
      */
     @Override
     public void onTestStart(ITestResult result) {
         logger.info("Test started: {}", result.getName());
+        result.setAttribute(START_NANOS, System.nanoTime());
+        // Serve this invocation's session on this thread, whichever thread ran its setup
+        TestSession session = TestSession.attach(result);
 
         try {
-            ExtentReportManager.startTest(result.getName(), result.getMethod().getDescription());
+            ExtentReportManager.startTest(result.getName(), result.getMethod().getDescription(), rowAttributes(result));
 
             // Dynamically fetch browser name
-            BaseTest testInstance = (BaseTest) result.getInstance();
-            WebDriver driver = testInstance.getDriver();
+            WebDriver driver = session.getDriver();
             if (driver != null) {
-                Capabilities caps = ((RemoteWebDriver) driver).getCapabilities();
+                Capabilities caps = ((HasCapabilities) driver).getCapabilities();
                 String browserName = caps.getBrowserName();
                 ExtentReportManager.addBrowserInfo(browserName);
                 logger.info("Browser detected: {}", browserName);
@@ -57,8 +71,24 @@ public class TestListener implements ITestListener {
      */
     @Override
     public void onTestSkipped(ITestResult result) {
+        if (result.getAttribute(START_NANOS) == null) {
+            // Skipped before it started, e.g. by the circuit breaker: give it a report entry for the reason
+            onTestStart(result);
+        }
         logger.warn("Test skipped: {}", result.getName());
-        ExtentReportManager.logSkip(result.getName() + " skipped");
+        Throwable reason = result.getThrowable();
+        ExtentReportManager.logSkip(result.getName() + " skipped" + (reason != null ? ": " + reason.getMessage() : ""));
+        if (result.wasRetried()) {
+            DataProviderRows.retry(result);
+            ExtentReportManager.attachScreenshot(ScreencastRecorder.save(result.getName() + "_Retry"));
+            // The retry must not inherit a session that may be broken; the next setup opens a new one
+            TestSession session = TestSession.of(result);
+            if (session != null) {
+                session.closeDriver();
+            }
+        }
+        recordTestSpan(result, "skipped");
+        ExtentReportManager.endTest();
     }
 
     /**
@@ -68,6 +98,9 @@ public class TestListener implements ITestListener {
     public void onTestSuccess(ITestResult result) {
         logger.info("Test passed: {}", result.getName());
         ExtentReportManager.logPass(result.getName() + " passed");
+        FlakinessHistory.recordOutcome(result, true);
+        recordTestSpan(result, "passed");
+        ExtentReportManager.endTest();
     }
 
     /**
@@ -75,26 +108,148 @@ public class TestListener implements ITestListener {
      */
     @Override
     public void onTestFailure(ITestResult result) {
+        TestSession aborted = TestSession.of(result);
+        if (aborted != null && aborted.isAborted()) {
+            // Its browser was closed under it, so there is nothing to capture and nothing to learn from
+            logger.warn("Test aborted: {} ({})", result.getName(), aborted.getAbortReason());
+            ExtentReportManager.logFailure(result.getName() + " aborted by circuit breaker: " + aborted.getAbortReason());
+            recordTestSpan(result, "aborted");
+            ExtentReportManager.endTest();
+            return;
+        }
         logger.error("Test failed: {}", result.getName());
         ExtentReportManager.logFailure(result.getName() + " failed");
+        FlakinessHistory.recordOutcome(result, false);
 
         try {
-            BaseTest testInstance = (BaseTest) result.getInstance();
-            WebDriver driver = testInstance.getDriver();
+            TestSession session = TestSession.of(result);
+            WebDriver driver = session != null ? session.getDriver() : null;
             if (driver != null) {
                 ExtentReportManager.logScreenshot(driver, result.getName() + "_Failure");
                 logger.info("Screenshot captured for failed test: {}", result.getName());
+                if (ConfigReader.isSessionReplayEnabled()) {
+                    String replay = SessionReplay.save(driver, result.getName());
+                    if (replay != null) {
+                        ExtentReportManager.logInfo("<a href='" + Paths.get(replay).toUri() + "' target='_blank'>Session replay</a>");
+                    }
+                }
             }
         } catch (Exception e) {
             logger.error("Error while capturing screenshot: {}", e.getMessage(), e);
             ExtentReportManager.logException(e);
         }
 
+        ExtentReportManager.attachScreenshot(ScreencastRecorder.save(result.getName() + "_Failure"));
+
+        String recording = FlightRecorder.dump(result.getName());
+        if (recording != null) {
+            ExtentReportManager.logInfo("Flight recorder: " + recording);
+        }
+
         Throwable throwable = result.getThrowable();
         if (throwable != null) {
             logger.error("Test failure exception: {}", throwable.getMessage(), throwable);
             ExtentReportManager.logException(throwable);
         }
+        recordTestSpan(result, "failed");
+        ExtentReportManager.endTest();
+    }
+
+    /**
+     * Called before a configuration method runs. A @BeforeMethod starts the setup of the next test on this thread.
+     */
+    @Override
+    public void beforeConfiguration(ITestResult result) {
+        result.setAttribute(START_NANOS, System.nanoTime());
+        if (result.getMethod().isBeforeMethodConfiguration()) {
+            ExtentReportManager.beginSetup();
+            FlightRecorder.reset();
+            ScreencastRecorder.reset();
+        }
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+        recordConfigurationSpan(result, "passed");
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        recordConfigurationSpan(result, "failed");
+    }
+
+    @Override
+    public void onConfigurationSkip(ITestResult result) {
+        recordConfigurationSpan(result, "skipped");
+    }
+
+    /**
+     * Records the test span and adds it to the duration history; an attempt that TestNG will run again is
+     * recorded as a retry. Tests that were skipped or aborted without running their course are left out
+     * of the history.
+     */
+    private void recordTestSpan(ITestResult result, String status) {
+        if (result.getAttribute(START_NANOS) instanceof Long start) {
+            long end = System.nanoTime();
+            String kind = result.wasRetried() ? "retry" : "test";
+            ExtentReportManager.recordSpan(kind, result.getMethod().getQualifiedName(), start, end,
+                    Map.of("status", status));
+            if (result.wasRetried() || !("skipped".equals(status) || "aborted".equals(status))) {
+                DurationHistory.record(result.getMethod(), end - start);
+            }
+        }
+    }
+
+    /**
+     * Records a setup or teardown span. Method-level configuration belongs to the test it surrounds.
+     */
+    private void recordConfigurationSpan(ITestResult result, String status) {
+        if (!(result.getAttribute(START_NANOS) instanceof Long start)) {
+            return;
+        }
+        ITestNGMethod method = result.getMethod();
+        String kind = method.isBeforeMethodConfiguration() || method.isBeforeClassConfiguration()
+                || method.isBeforeTestConfiguration() || method.isBeforeSuiteConfiguration()
+                || method.isBeforeGroupsConfiguration() ? "setup" : "teardown";
+        Map<String, String> attributes = Map.of("status", status);
+        if (method.isBeforeMethodConfiguration() || method.isAfterMethodConfiguration()) {
+            ExtentReportManager.recordSpan(kind, method.getQualifiedName(), start, System.nanoTime(), attributes);
+        } else {
+            ExtentReportManager.recordGlobalSpan(kind, method.getQualifiedName(), start, System.nanoTime(), attributes);
+        }
+    }
+
+    /**
+     * Numbers the rows of every data provider, for the row attribute of its tests.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        return DataProviderRows.numbered(original, method);
+    }
+
+    /**
+     * Returns the attributes that identify a test invocation: its class, method, data provider,
+     * row index, a key derived from the row's values and the thread.
+     */
+    private Map<String, String> rowAttributes(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("class", method.getRealClass().getName());
+        attributes.put("method", method.getMethodName());
+        IDataProviderMethod dataProvider = method.getDataProviderMethod();
+        if (dataProvider != null) {
+            attributes.put("dataProvider", dataProvider.getName());
+        }
+        Integer row = DataProviderRows.start(result);
+        if (row != null) {
+            attributes.put("row", String.valueOf(row));
+        }
+        if (result.getParameters().length > 0) {
+            attributes.put("rowKey", Integer.toHexString(Arrays.deepHashCode(result.getParameters())));
+        }
+        attributes.put("thread", Thread.currentThread().getName());
+        return attributes;
     }
 
     /**
@@ -117,6 +272,9 @@ public class TestListener implements ITestListener {
                 logger.error("Error creating directory: {}", directory, e);
             }
         }
+        if (ConfigReader.isSharded()) {
+            ShardMerger.writeManifest();
+        }
     }
 
     /**
@@ -126,6 +284,10 @@ public class TestListener implements ITestListener {
     public void onFinish(ITestContext context) {
         logger.info("Test finished: {}", context.getName());
         try {
+            ScreenshotUtil.awaitPendingWrites();
+            JsonReader.closeStreams();
+            FlakinessHistory.save();
+            DurationHistory.save();
             ExtentReportManager.closeReporter();
             logger.info("Extent report finalized.");
         } catch (Exception e) {
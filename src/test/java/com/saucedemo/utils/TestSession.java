@@ -0,0 +1,204 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import com.saucedemo.pageobjects.LoginPage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state owned by one test invocation: its browser session, its LoginPage and its report state.
+ * A session is opened by the @BeforeMethod of the invocation and stored on the invocation's ITestResult, so it
+ * belongs to that invocation rather than to the thread running it; with parallel methods or parallel data-provider
+ * rows every invocation has its own. The thread currently serving an invocation holds a pointer to its session,
+ * so static helpers such as ExtentReportManager can reach it; TestListener re-binds the pointer from the
+ * ITestResult when the test starts, and ExtentReportManager.beginSetup releases it before the next setup.
+ */
+public class TestSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestSession.class);
+    private static final String ATTRIBUTE = "testSession";
+
+    // The session served by the current thread, from its setup until the next setup on the thread
+    private static final ThreadLocal<TestSession> active = new ThreadLocal<>();
+
+    // Sessions holding a browser, on any thread
+    private static final Set<TestSession> openSessions = ConcurrentHashMap.newKeySet();
+
+    private WebDriver driver;
+    private LoginPage loginPage;
+    private volatile String abortReason;
+
+    // Report state: the report test once started, and spans recorded during setup until then
+    private Long reportTestId;
+    private boolean reportEnded;
+    private final List<ReportEvent.SpanRecorded> setupSpans = new ArrayList<>();
+
+    /**
+     * Opens the session of a test invocation and makes it the current thread's session.
+     *
+     * @param result The ITestResult of the invocation, as injected into its @BeforeMethod.
+     * @return The new session.
+     */
+    public static TestSession open(ITestResult result) {
+        TestSession session = new TestSession();
+        result.setAttribute(ATTRIBUTE, session);
+        bind(session);
+        return session;
+    }
+
+    /**
+     * Makes the session of the given invocation the current thread's session, opening an empty one if the
+     * invocation has none (for example when its setup did not run).
+     *
+     * @param result The ITestResult of the invocation.
+     * @return The invocation's session.
+     */
+    public static TestSession attach(ITestResult result) {
+        TestSession session = of(result);
+        if (session == null) {
+            return open(result);
+        }
+        bind(session);
+        return session;
+    }
+
+    /**
+     * Returns the session of the given invocation.
+     *
+     * @param result The ITestResult of the invocation.
+     * @return The session, or null if none was opened.
+     */
+    public static TestSession of(ITestResult result) {
+        return result != null && result.getAttribute(ATTRIBUTE) instanceof TestSession session ? session : null;
+    }
+
+    /**
+     * Returns the session served by the current thread.
+     *
+     * @return The session, or null between invocations.
+     */
+    public static TestSession current() {
+        return active.get();
+    }
+
+    private static void bind(TestSession session) {
+        TestSession previous = active.get();
+        if (previous != null && previous != session && previous.driver != null) {
+            logger.warn("Thread {} starts a new test session while the previous one still holds a browser.",
+                    Thread.currentThread().getName());
+        }
+        active.set(session);
+    }
+
+    /**
+     * Releases the current thread's session pointer. The session itself stays reachable from its ITestResult.
+     */
+    public static void release() {
+        active.remove();
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public void setDriver(WebDriver driver) {
+        this.driver = driver;
+        if (driver != null) {
+            openSessions.add(this);
+        }
+    }
+
+    public LoginPage getLoginPage() {
+        return loginPage;
+    }
+
+    public void setLoginPage(LoginPage loginPage) {
+        this.loginPage = loginPage;
+    }
+
+    /**
+     * Quits the session's browser, if it still has one.
+     */
+    public void closeDriver() {
+        openSessions.remove(this);
+        if (driver != null) {
+            WebDriverFactory.quitDriver(driver);
+            driver = null;
+            loginPage = null;
+        }
+    }
+
+    /**
+     * Ends the browser sessions of all other running test invocations, from any thread. Their tests fail on their
+     * next driver call; the owning threads still tear the sessions down as usual.
+     *
+     * @param reason Why the sessions are ended.
+     * @param keep   The session to leave open, such as the one of the test that is being reported, or null.
+     */
+    public static void abortAll(String reason, TestSession keep) {
+        for (TestSession session : openSessions) {
+            if (session != keep) {
+                session.abort(reason);
+            }
+        }
+    }
+
+    /**
+     * Quits the underlying browser, bypassing the driver listeners, which belong to the owning thread.
+     */
+    private void abort(String reason) {
+        abortReason = reason;
+        openSessions.remove(this);
+        WebDriver current = driver;
+        if (current == null) {
+            return;
+        }
+        try {
+            (current instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : current).quit();
+            logger.info("Browser session aborted: {}", reason);
+        } catch (Exception e) {
+            logger.warn("Failed to abort browser session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the session's browser was ended by abortAll.
+     *
+     * @return True if the session was aborted.
+     */
+    public boolean isAborted() {
+        return abortReason != null;
+    }
+
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    Long getReportTestId() {
+        return reportTestId;
+    }
+
+    void setReportTestId(Long reportTestId) {
+        this.reportTestId = reportTestId;
+    }
+
+    boolean isReportEnded() {
+        return reportEnded;
+    }
+
+    void setReportEnded(boolean reportEnded) {
+        this.reportEnded = reportEnded;
+    }
+
+    List<ReportEvent.SpanRecorded> getSetupSpans() {
+        return setupSpans;
+    }
+}
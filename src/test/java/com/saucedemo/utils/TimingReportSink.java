@@ -0,0 +1,180 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Report sink that writes timing spans as JSON Lines to reportPath/timings_&lt;timestamp&gt;.jsonl.
+ * Every line holds one span: kind (setup, teardown, test, retry or step), name, start and end System.nanoTime
+ * values, the duration, and the attributes of the test it belongs to, including its data-provider row.
+ *
+ * Lines are encoded by a streaming generator into a direct buffer that is written to a FileChannel when full,
+ * every reportFlushEveryTests finished tests and when the report is closed.
+ */
+public class TimingReportSink implements ReportSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingReportSink.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Upper bound on remembered test attributes; teardown spans arrive shortly after their test ends
+    private static final int MAX_TRACKED_TESTS = 10_000;
+
+    private final Map<Long, Map<String, String>> testAttributes = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<String, String>> eldest) {
+            return size() > MAX_TRACKED_TESTS;
+        }
+    };
+    private final Path timingFile;
+    private JsonGenerator generator;
+    private int finishedSinceFlush = 0;
+
+    /**
+     * Constructor for TimingReportSink. The file is opened on the first span.
+     */
+    public TimingReportSink() {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        this.timingFile = Paths.get(ConfigReader.getReportPath(), "timings_" + timestamp + ".jsonl");
+    }
+
+    @Override
+    public void accept(ReportEvent event) {
+        try {
+            switch (event) {
+                case ReportEvent.TestStarted started -> testAttributes.put(started.testId(), started.attributes());
+                case ReportEvent.SpanRecorded span -> writeSpan(span);
+                case ReportEvent.TestEnded ignored -> {
+                    int flushEveryTests = ConfigReader.getReportFlushEveryTests();
+                    if (generator != null && flushEveryTests > 0 && ++finishedSinceFlush >= flushEveryTests) {
+                        generator.flush();
+                        finishedSinceFlush = 0;
+                    }
+                }
+                case ReportEvent.ReportClosed ignored -> close();
+                default -> {
+                    // Other events carry no timing information
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write timing stream: " + timingFile, e);
+        }
+    }
+
+    private void writeSpan(ReportEvent.SpanRecorded span) throws IOException {
+        if (generator == null) {
+            open();
+        }
+        generator.writeStartObject();
+        generator.writeStringField("kind", span.kind());
+        generator.writeStringField("name", span.name());
+        generator.writeNumberField("testId", span.testId());
+        generator.writeNumberField("startNanos", span.startNanos());
+        generator.writeNumberField("endNanos", span.endNanos());
+        generator.writeNumberField("durationMs", (span.endNanos() - span.startNanos()) / 1_000_000.0);
+        for (Map.Entry<String, String> attribute : testAttributes.getOrDefault(span.testId(), Map.of()).entrySet()) {
+            if (!span.attributes().containsKey(attribute.getKey())) {
+                generator.writeStringField(attribute.getKey(), attribute.getValue());
+            }
+        }
+        for (Map.Entry<String, String> attribute : span.attributes().entrySet()) {
+            generator.writeStringField(attribute.getKey(), attribute.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void open() throws IOException {
+        DirectoryUtil.createDirectory(timingFile.getParent().toString());
+        FileChannel channel = FileChannel.open(timingFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generator = JSON_FACTORY.createGenerator(new ChannelOutputStream(channel));
+        generator.setRootValueSeparator(new SerializedString(""));
+        logger.info("Writing timing stream to {}", timingFile);
+    }
+
+    /**
+     * Writes out buffered lines and closes the file. A later span reopens it in append mode.
+     */
+    private void close() throws IOException {
+        testAttributes.clear();
+        finishedSinceFlush = 0;
+        if (generator != null) {
+            generator.close();
+            generator = null;
+            logger.info("Timing stream written to {}", timingFile);
+        }
+    }
+
+    /**
+     * OutputStream that collects bytes in a direct buffer and writes them to a file channel when it is full or flushed.
+     */
+    private static class ChannelOutputStream extends OutputStream {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        ChannelOutputStream(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * WebDriverListener that times every WebDriver, WebElement and navigation call and records it as a "step" span
+ * for the current test. Calls are timed per thread, so one listener can serve all parallel drivers.
+ */
+public class TimingWebDriverListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStarts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        recordStep(target, method, "passed");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        recordStep(target, method, "failed");
+    }
+
+    private void recordStep(Object target, Method method, String status) {
+        Long start = callStarts.get().poll();
+        if (start != null) {
+            ExtentReportManager.recordSpan("step", target.getClass().getSimpleName() + "." + method.getName(),
+                    start, System.nanoTime(), Map.of("status", status));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A test that fails with a transient exception on its first attempt only. It is not part of any suite:
+ * RetryListenerTest runs it in a separate JVM to check that it is retried.
+ */
+public class TransientlyFailingSample {
+
+    private static final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void failsOnce() {
+        if (attempts.incrementAndGet() == 1) {
+            throw new TimeoutException("Synthetic transient failure");
+        }
+    }
+}
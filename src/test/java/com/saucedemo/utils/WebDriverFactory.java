@@ -9,61 +9,83 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * WebDriverFactory class to manage WebDriver instances for different browsers.
- * It uses ThreadLocal to ensure that each thread has its own instance of WebDriver.
+ * Every call creates a new browser session; the caller owns it (see TestSession, which keeps one per
+ * test invocation) and hands it back to quitDriver.
  */
 public class WebDriverFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(WebDriverFactory.class);
-    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final TimingWebDriverListener timingListener = new TimingWebDriverListener();
 
     /**
-     * Initializes and returns the WebDriver instance based on the browser type.
+     * Creates a new WebDriver instance based on the browser type.
      *
-     * @return The WebDriver instance for the current thread.
+     * @return The new WebDriver instance.
      */
-    public static WebDriver getDriver() {
-        if (driver.get() == null) {
-            try {
-                String browser = ConfigReader.getBrowser();
-                boolean isHeadless = ConfigReader.isHeadless();
-
-                logger.info("Initializing WebDriver for browser: {}", browser);
-
-                // Setup WebDriver based on the browser
-                switch (browser.toLowerCase()) {
-                    case "chrome":
-                        driver.set(setupChromeDriver(isHeadless));
-                        break;
-                    case "firefox":
-                        driver.set(setupFirefoxDriver(isHeadless));
-                        break;
-                    case "edge":
-                        driver.set(setupEdgeDriver(isHeadless));
-                        break;
-                    default:
-                        throw new WebDriverException("Unsupported browser: " + browser);
-                }
-
-                // Maximize the browser window and set implicit wait
-                driver.get().manage().window().maximize();
-                driver.get().manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
-
-                logger.info("WebDriver initialized successfully for browser: {}", browser);
-            } catch (Exception e) {
-                logger.error("Error initializing WebDriver for browser.", e);
-                throw new RuntimeException("Failed to initialize WebDriver", e);
+    public static WebDriver createDriver() {
+        try {
+            String browser = ConfigReader.getBrowser();
+            boolean isHeadless = ConfigReader.isHeadless();
+
+            logger.info("Initializing WebDriver for browser: {}", browser);
+
+            // Setup WebDriver based on the browser
+            WebDriver driver;
+            switch (browser.toLowerCase()) {
+                case "chrome":
+                    driver = setupChromeDriver(isHeadless);
+                    break;
+                case "firefox":
+                    driver = setupFirefoxDriver(isHeadless);
+                    break;
+                case "edge":
+                    driver = setupEdgeDriver(isHeadless);
+                    break;
+                default:
+                    throw new WebDriverException("Unsupported browser: " + browser);
             }
+
+            // Time every driver call as a step in the timing stream, feed the flight recorder and install session replay
+            List<WebDriverListener> listeners = new ArrayList<>();
+            if (ConfigReader.isTimingStreamEnabled()) {
+                listeners.add(timingListener);
+            }
+            if (ConfigReader.isFlightRecorderEnabled()) {
+                listeners.add(new FlightRecorderListener(driver));
+            }
+            if (ConfigReader.isSessionReplayEnabled()) {
+                listeners.add(new SessionReplayListener(driver));
+            }
+            if (ConfigReader.isScreencastEnabled()) {
+                ScreencastRecorder.start(driver);
+            }
+            if (!listeners.isEmpty()) {
+                driver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+            }
+
+            // Maximize the browser window and set implicit wait
+            driver.manage().window().maximize();
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+
+            logger.info("WebDriver initialized successfully for browser: {}", browser);
+            return driver;
+        } catch (Exception e) {
+            logger.error("Error initializing WebDriver for browser.", e);
+            throw new RuntimeException("Failed to initialize WebDriver", e);
         }
-        return driver.get();
     }
 
     /**
@@ -135,19 +157,17 @@ public class WebDriverFactory {
     }
 
     /**
-     * Quits the WebDriver instance and removes it from ThreadLocal.
+     * Quits a WebDriver instance created by createDriver.
+     *
+     * @param driver The WebDriver instance to quit.
      */
-    public static void quitDriver() {
-        if (driver.get() != null) {
-            try {
-                logger.info("Quitting WebDriver instance.");
-                driver.get().quit();
-            } catch (Exception e) {
-                logger.error("Error occurred while quitting WebDriver.", e);
-            } finally {
-                driver.remove();
-                logger.info("WebDriver instance removed from ThreadLocal.");
-            }
+    public static void quitDriver(WebDriver driver) {
+        try {
+            logger.info("Quitting WebDriver instance.");
+            ScreencastRecorder.stop();
+            driver.quit();
+        } catch (Exception e) {
+            logger.error("Error occurred while quitting WebDriver.", e);
         }
     }
 }
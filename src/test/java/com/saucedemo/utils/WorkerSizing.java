@@ -0,0 +1,162 @@
+package com.saucedemo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Sizes the number of parallel workers from the resources of the host.
+ * Every worker thread, and every data-provider row thread within it, drives its own browser, so the number of
+ * concurrent browsers is threadCount x dataProviderThreadCount. That budget is the smaller of the available cores
+ * divided by coresPerBrowser and the available memory, less memoryReserveMb for the JVM and the OS, divided by
+ * browserMemoryMb (the estimated resident size of one browser). In a container the available memory is also capped
+ * by what is left under the cgroup memory limit. A count set explicitly is kept as it is and the other one is sized
+ * to fit the budget next to it.
+ */
+public class WorkerSizing {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerSizing.class);
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    // Memory limit and usage of the cgroup the JVM runs in: cgroup v2 first, then v1
+    private static final List<Path[]> CGROUP_MEMORY_FILES = List.of(
+            new Path[]{Paths.get("/sys/fs/cgroup/memory.max"), Paths.get("/sys/fs/cgroup/memory.current")},
+            new Path[]{Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes"),
+                    Paths.get("/sys/fs/cgroup/memory/memory.usage_in_bytes")});
+
+    /**
+     * The chosen number of suite threads and data-provider threads per suite thread.
+     */
+    public record Plan(int threadCount, int dataProviderThreadCount) {
+    }
+
+    /**
+     * Chooses the thread counts, keeping any count that is configured explicitly.
+     *
+     * @return The sizing plan.
+     */
+    public static Plan plan() {
+        int configuredThreads = ConfigReader.getThreadCount();
+        int configuredRowThreads = ConfigReader.getDataProviderThreadCount();
+        if (configuredThreads > 0 && configuredRowThreads > 0) {
+            return new Plan(configuredThreads, configuredRowThreads);
+        }
+
+        int browsers = browserBudget(Runtime.getRuntime().availableProcessors(), availableMemoryMb(),
+                ConfigReader.getCoresPerBrowser(), ConfigReader.getMemoryReserveMb(), ConfigReader.getBrowserMemoryMb());
+        Plan plan = plan(browsers, configuredThreads, configuredRowThreads, ConfigReader.isTestDataStreaming());
+        logger.info("Running {} browsers at most: {} suite threads x {} data-provider threads.",
+                plan.threadCount() * plan.dataProviderThreadCount(), plan.threadCount(), plan.dataProviderThreadCount());
+        return plan;
+    }
+
+    /**
+     * Returns the number of browsers the host has room for, at least one.
+     *
+     * @param cores           The available cores.
+     * @param memoryMb        The available memory.
+     * @param coresPerBrowser The cores one browser needs.
+     * @param memoryReserveMb The memory kept for the JVM and the OS.
+     * @param browserMemoryMb The memory one browser needs.
+     * @return The browser budget.
+     */
+    static int browserBudget(int cores, long memoryMb, double coresPerBrowser, int memoryReserveMb, int browserMemoryMb) {
+        int byCores = (int) Math.floor(cores / coresPerBrowser);
+        long byMemory = (memoryMb - memoryReserveMb) / browserMemoryMb;
+        logger.info("Host has {} cores and {} MB available: room for {} browsers by cores, {} by memory.",
+                cores, memoryMb, byCores, byMemory);
+        return (int) Math.max(1, Math.min(byCores, byMemory));
+    }
+
+    /**
+     * Splits the browser budget into suite threads and data-provider threads, keeping a count configured explicitly
+     * (greater than 0).
+     *
+     * @param browsers             The browser budget.
+     * @param configuredThreads    The configured suite threads, or 0 for auto.
+     * @param configuredRowThreads The configured data-provider threads, or 0 for auto.
+     * @param streaming            Whether test data is streamed, so rows run sequentially.
+     * @return The sizing plan.
+     */
+    static Plan plan(int browsers, int configuredThreads, int configuredRowThreads, boolean streaming) {
+        Plan plan;
+        if (configuredThreads > 0) {
+            plan = new Plan(configuredThreads, Math.max(1, browsers / configuredThreads));
+        } else if (configuredRowThreads > 0) {
+            plan = new Plan(Math.max(1, browsers / configuredRowThreads), configuredRowThreads);
+        } else {
+            // Rows of one method are the finer-grained work, but classes keep more threads busy, so favour classes;
+            // streamed rows run sequentially (see ParallelSuiteListener), so they get no row threads
+            int rowThreads = browsers >= 4 && !streaming ? 2 : 1;
+            plan = new Plan(browsers / rowThreads, rowThreads);
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the memory that can be used without swapping: the smaller of MemAvailable on Linux, which counts
+     * reclaimable page cache, and the room left under the cgroup memory limit; otherwise the free physical memory
+     * reported by the JVM.
+     */
+    private static long availableMemoryMb() {
+        long hostMb = hostAvailableMemoryMb();
+        long cgroupMb = cgroupAvailableMemoryMb(CGROUP_MEMORY_FILES);
+        if (cgroupMb < hostMb) {
+            logger.info("Memory is limited by the cgroup: {} MB left under its limit, {} MB available on the host.",
+                    cgroupMb, hostMb);
+            return cgroupMb;
+        }
+        return hostMb;
+    }
+
+    /**
+     * Returns the cgroup memory limit less the cgroup's current usage. Without a limit (memory.max is "max", or a
+     * v1 limit near Long.MAX_VALUE) or without a readable cgroup file the result exceeds any host's memory.
+     *
+     * @param memoryFiles Pairs of limit and usage files, tried in order.
+     * @return The memory left under the limit, in MB.
+     */
+    static long cgroupAvailableMemoryMb(List<Path[]> memoryFiles) {
+        for (Path[] files : memoryFiles) {
+            if (!Files.isReadable(files[0])) {
+                continue;
+            }
+            try {
+                String limit = Files.readString(files[0]).trim();
+                if (limit.equals("max")) {
+                    return Long.MAX_VALUE;
+                }
+                long limitBytes = Long.parseLong(limit);
+                long usageBytes = Files.isReadable(files[1]) ? Long.parseLong(Files.readString(files[1]).trim()) : 0;
+                return Math.max(0, limitBytes - usageBytes) / (1024 * 1024);
+            } catch (IOException | NumberFormatException e) {
+                logger.debug("Could not read the cgroup memory limit {}: {}", files[0], e.getMessage());
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static long hostAvailableMemoryMb() {
+        if (Files.isReadable(MEMINFO)) {
+            try {
+                List<String> lines = Files.readAllLines(MEMINFO);
+                for (String line : lines) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.debug("Could not read {}: {}", MEMINFO, e.getMessage());
+            }
+        }
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getFreeMemorySize() / (1024 * 1024);
+        }
+        return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    }
+}
@@ -0,0 +1,74 @@
+package com.saucedemo.utils;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Checks the worker sizing: the browser budget from cores and memory, its split into suite and data-provider
+ * threads, and the cgroup memory files. Does not need a browser (mvn test -Putils).
+ */
+public class WorkerSizingTest {
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * Test that the budget is the smaller of the core and memory limits, and at least one browser.
+     */
+    @Test
+    public void testBrowserBudget() {
+        assertEquals(WorkerSizing.browserBudget(8, 16384, 1, 1024, 500), 8, "Limited by cores.");
+        assertEquals(WorkerSizing.browserBudget(16, 4096, 1, 1024, 500), 6, "Limited by memory.");
+        assertEquals(WorkerSizing.browserBudget(8, 16384, 2.5, 1024, 500), 3, "Fractional cores per browser.");
+        assertEquals(WorkerSizing.browserBudget(8, 512, 1, 1024, 500), 1, "Less memory than the reserve.");
+    }
+
+    /**
+     * Test the split of the budget into suite and data-provider threads.
+     */
+    @Test
+    public void testPlanSplitsBudget() {
+        assertEquals(WorkerSizing.plan(8, 0, 0, false), new WorkerSizing.Plan(4, 2));
+        assertEquals(WorkerSizing.plan(3, 0, 0, false), new WorkerSizing.Plan(3, 1));
+        assertEquals(WorkerSizing.plan(8, 0, 0, true), new WorkerSizing.Plan(8, 1), "Streamed rows get no row threads.");
+        assertEquals(WorkerSizing.plan(8, 2, 0, false), new WorkerSizing.Plan(2, 4), "Configured suite threads are kept.");
+        assertEquals(WorkerSizing.plan(8, 0, 3, false), new WorkerSizing.Plan(2, 3), "Configured row threads are kept.");
+        assertEquals(WorkerSizing.plan(2, 4, 0, false), new WorkerSizing.Plan(4, 1), "At least one row thread.");
+    }
+
+    /**
+     * Test that the cgroup v2 limit less the usage is read, and that "max" means no limit.
+     */
+    @Test
+    public void testCgroupV2() throws IOException {
+        Path directory = Files.createTempDirectory("cgroup");
+        Path limit = Files.writeString(directory.resolve("memory.max"), 4096 * MB + "\n");
+        Path usage = Files.writeString(directory.resolve("memory.current"), 1024 * MB + "\n");
+        assertEquals(WorkerSizing.cgroupAvailableMemoryMb(List.<Path[]>of(new Path[]{limit, usage})), 3072);
+
+        Files.writeString(limit, "max\n");
+        assertEquals(WorkerSizing.cgroupAvailableMemoryMb(List.<Path[]>of(new Path[]{limit, usage})), Long.MAX_VALUE);
+    }
+
+    /**
+     * Test that the v1 files are used when the v2 files are missing, and that no readable file means no limit.
+     */
+    @Test
+    public void testCgroupV1Fallback() throws IOException {
+        Path directory = Files.createTempDirectory("cgroup");
+        Path missingLimit = directory.resolve("memory.max");
+        Path missingUsage = directory.resolve("memory.current");
+        Path limit = Files.writeString(directory.resolve("memory.limit_in_bytes"), 2048 * MB + "\n");
+        Path usage = Files.writeString(directory.resolve("memory.usage_in_bytes"), 2560 * MB + "\n");
+        List<Path[]> files = List.of(new Path[]{missingLimit, missingUsage}, new Path[]{limit, usage});
+        assertEquals(WorkerSizing.cgroupAvailableMemoryMb(files), 0, "Usage above the limit leaves nothing.");
+
+        assertEquals(WorkerSizing.cgroupAvailableMemoryMb(List.<Path[]>of(new Path[]{missingLimit, missingUsage})),
+                Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,127 @@
+// In-page session recorder, installed by SessionReplayListener after every page-changing driver call.
+// Records a DOM snapshot per page followed by mutations and input events, kept in browser memory.
+// The recording of earlier pages survives full navigations through sessionStorage.
+var maxEvents = arguments[0];
+if (window.__sdReplay) {
+    return;
+}
+
+var STORAGE_KEY = '__sdReplay';
+var MAX_PAGES = 10;
+var pages = [];
+try {
+    pages = JSON.parse(window.sessionStorage.getItem(STORAGE_KEY) || '[]');
+} catch (e) {
+    pages = [];
+}
+var current = null;
+
+function now() {
+    return Date.now();
+}
+
+// Path of child indexes from the document element, so the player can find the node in its copy
+function pathOf(node) {
+    var path = [];
+    while (node && node !== document.documentElement) {
+        var parent = node.parentNode;
+        if (!parent) {
+            return null;
+        }
+        path.unshift(Array.prototype.indexOf.call(parent.childNodes, node));
+        node = parent;
+    }
+    return node ? path : null;
+}
+
+function inlineStyles() {
+    var css = [];
+    for (var i = 0; i < document.styleSheets.length; i++) {
+        try {
+            var rules = document.styleSheets[i].cssRules;
+            for (var j = 0; j < rules.length; j++) {
+                css.push(rules[j].cssText);
+            }
+        } catch (e) {
+            // Cross-origin stylesheets cannot be read
+        }
+    }
+    return css.join('\n');
+}
+
+function snapshot() {
+    current = {
+        url: location.href,
+        events: [{t: now(), type: 'snapshot', html: document.documentElement.outerHTML, styles: inlineStyles(),
+            width: window.innerWidth, height: window.innerHeight}]
+    };
+}
+
+function record(event) {
+    event.t = now();
+    current.events.push(event);
+    if (current.events.length > maxEvents) {
+        // Start a new key frame instead of growing without bound
+        snapshot();
+    }
+}
+
+function valueOf(target) {
+    return target.type === 'password' ? '*'.repeat(target.value.length) : target.value;
+}
+
+var observer = new MutationObserver(function (mutations) {
+    var parents = [];
+    mutations.forEach(function (mutation) {
+        var path = pathOf(mutation.target);
+        if (path === null) {
+            return;
+        }
+        if (mutation.type === 'childList') {
+            if (parents.indexOf(mutation.target) < 0) {
+                parents.push(mutation.target);
+            }
+        } else if (mutation.type === 'attributes') {
+            record({type: 'attr', path: path, name: mutation.attributeName,
+                value: mutation.target.getAttribute(mutation.attributeName)});
+        } else if (mutation.type === 'characterData') {
+            record({type: 'text', path: path, value: mutation.target.data});
+        }
+    });
+    parents.forEach(function (parent) {
+        var path = pathOf(parent);
+        if (path !== null) {
+            record({type: 'children', path: path, html: parent.innerHTML});
+        }
+    });
+});
+
+document.addEventListener('input', function (event) {
+    var path = pathOf(event.target);
+    if (path !== null && 'value' in event.target) {
+        record({type: 'input', path: path, value: valueOf(event.target)});
+    }
+}, true);
+document.addEventListener('click', function (event) {
+    record({type: 'click', path: pathOf(event.target), x: event.clientX, y: event.clientY});
+}, true);
+window.addEventListener('scroll', function () {
+    record({type: 'scroll', x: window.scrollX, y: window.scrollY});
+}, true);
+window.addEventListener('pagehide', function () {
+    try {
+        window.sessionStorage.setItem(STORAGE_KEY, JSON.stringify(pages.concat([current]).slice(-MAX_PAGES)));
+    } catch (e) {
+        // Storage full: the earlier pages are lost, the current one is still in memory until unload
+    }
+});
+
+snapshot();
+observer.observe(document.documentElement, {childList: true, attributes: true, characterData: true, subtree: true});
+window.sessionStorage.removeItem(STORAGE_KEY);
+
+window.__sdReplay = {
+    export: function () {
+        return JSON.stringify({pages: pages.concat([current]).slice(-MAX_PAGES)});
+    }
+};